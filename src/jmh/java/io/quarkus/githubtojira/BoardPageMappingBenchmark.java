@@ -0,0 +1,94 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps one response of the `projectItems` query (100 items) to {@link PullRequestInfo}s, starting from the bytes
+ * of the response body. Compares decoding it with Jackson straight into the records of {@link GitHubGraphQLClient}
+ * with the original path, which builds a `jakarta.json` tree first and then walks it.
+ * Run with `-prof gc` to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+public class BoardPageMappingBenchmark {
+
+    static final String FIX_VERSION = "3.20.1";
+
+    byte[] response;
+    // configured like the ObjectMapper of the app
+    final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream stream = BoardPageMappingBenchmark.class.getResourceAsStream("/fixtures/project-items-page.json")) {
+            String data = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            response = ("{\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<PullRequestInfo> recordBinding() throws IOException {
+        GitHubGraphQLClient.ProjectItemsResponse page = objectMapper.readValue(response, GitHubGraphQLClient.ProjectItemsResponse.class);
+        List<PullRequestInfo> pullRequests = new ArrayList<>();
+        for (GitHubGraphQLClient.Item item : page.data().organization().projectV2().items().nodes()) {
+            PullRequestInfo prInfo = GitHubService.boardItemToPullRequestInfo(item, FIX_VERSION);
+            if (prInfo != null) {
+                pullRequests.add(prInfo);
+            }
+        }
+        return pullRequests;
+    }
+
+    @Benchmark
+    public List<PullRequestInfo> jsonTree() {
+        JsonObject data;
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(response))) {
+            data = reader.readObject().getJsonObject("data");
+        }
+        JsonObject items = data.getJsonObject("organization").getJsonObject("projectV2").getJsonObject("items");
+        List<PullRequestInfo> pullRequests = new ArrayList<>();
+        for (JsonValue item : items.getJsonArray("nodes")) {
+            PullRequestInfo prInfo = treeItemToPullRequestInfo(item.asJsonObject());
+            if (prInfo != null) {
+                pullRequests.add(prInfo);
+            }
+        }
+        return pullRequests;
+    }
+
+    // the original mapping of a project item
+    static PullRequestInfo treeItemToPullRequestInfo(JsonObject projectItem) {
+        JsonObject content = projectItem.getJsonObject("content");
+        if (content == null || content.get("url") == null) {
+            return null;
+        }
+        JsonValue status = projectItem.get("STATUS");
+        String version = status == null || status.getValueType() != JsonValue.ValueType.OBJECT
+                ? null
+                : status.asJsonObject().getString("FIXVERSION", null);
+        if (!FIX_VERSION.equals(version)) {
+            return null;
+        }
+        PullRequestInfo prInfo = new PullRequestInfo();
+        prInfo.setUrl(content.getString("url"));
+        prInfo.setTitle(content.getString("title"));
+        prInfo.setNumber(content.getInt("number"));
+        return prInfo;
+    }
+}
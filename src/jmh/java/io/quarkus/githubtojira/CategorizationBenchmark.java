@@ -0,0 +1,67 @@
+package io.quarkus.githubtojira;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the compiled {@link CategorizationRules} with the original nested matching,
+ * for pull requests with a varying number of changed files.
+ */
+@State(Scope.Benchmark)
+public class CategorizationBenchmark {
+
+    static final List<String> LABELS = List.of("area/documentation", "area/testing", "area/core", "area/hibernate-orm",
+            "triage/backport", "kind/bug");
+    static final List<String> FILES = List.of("docs/src/main/asciidoc/foo.adoc", "README.md", ".github/workflows/ci.yml",
+            "integration-tests/main/pom.xml", "core/src/test/java/FooTest.java", "core/src/main/java/Foo.java",
+            "extensions/hibernate-orm/runtime/src/main/java/HibernateOrmRecorder.java");
+
+    @Param({"1", "10", "100"})
+    int filesPerPullRequest;
+
+    final CategorizationRules rules = CategorizationRules.compile(CategorizationRulesTest.RULES, List.of("triage", "kind"), true);
+
+    final List<List<String>> labels = new ArrayList<>();
+    final List<List<String>> files = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            List<String> prLabels = new ArrayList<>();
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                prLabels.add(LABELS.get(random.nextInt(LABELS.size())));
+            }
+            // most pull requests touch files of a single kind, so that all rules have to look at all files
+            String kind = FILES.get(random.nextInt(FILES.size()));
+            List<String> prFiles = new ArrayList<>();
+            for (int j = 0; j < filesPerPullRequest; j++) {
+                prFiles.add(random.nextInt(10) == 0 ? FILES.get(random.nextInt(FILES.size())) : kind);
+            }
+            labels.add(prLabels);
+            files.add(prFiles);
+        }
+    }
+
+    @Benchmark
+    public void compiledRules(Blackhole blackhole) {
+        for (int i = 0; i < labels.size(); i++) {
+            blackhole.consume(rules.classify(labels.get(i), files.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void nestedMatching(Blackhole blackhole) {
+        for (int i = 0; i < labels.size(); i++) {
+            blackhole.consume(CategorizationRulesTest.nestedMatching(labels.get(i), files.get(i)));
+        }
+    }
+}
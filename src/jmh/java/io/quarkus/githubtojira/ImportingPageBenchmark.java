@@ -0,0 +1,106 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.githubtojira.model.ImportingRow;
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.HtmlEscaper;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateLocator.TemplateLocation;
+import io.quarkus.qute.Variant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The two parts of the importing page: the page itself, rendered with a standalone Qute engine (which resolves
+ * the data by reflection instead of the generated value resolvers used in the application, so the absolute numbers
+ * are pessimistic), and the rows, serialized to JSON. Only the rows grow with the number of pull requests.
+ */
+@State(Scope.Benchmark)
+public class ImportingPageBenchmark {
+
+    static final Variant HTML = new Variant(Locale.ROOT, "text/html", "UTF-8");
+
+    @Param({"1000"})
+    int pullRequestCount;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    Template template;
+    final List<PullRequestInfo> pullRequests = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Engine engine = Engine.builder()
+                .addDefaults()
+                .addValueResolver(new ReflectionValueResolver())
+                .addResultMapper(new HtmlEscaper(List.of(HTML.getContentType())))
+                .removeStandaloneLines(true)
+                .addLocator(ImportingPageBenchmark::locate)
+                .build();
+        template = engine.getTemplate("GithubToJiraResource/importing.html");
+        for (int i = 0; i < pullRequestCount; i++) {
+            PullRequestInfo pullRequest = new PullRequestInfo();
+            pullRequest.setNumber(40000 + i);
+            pullRequest.setUrl("https://github.com/quarkusio/quarkus/pull/" + (40000 + i));
+            pullRequest.setTitle("Bump some dependency from 1.2." + i + " to 1.2." + (i + 1));
+            List<JiraInfo> existingJiras = new ArrayList<>();
+            if (i % 3 == 0) {
+                JiraInfo jira = new JiraInfo();
+                jira.setKey("QUARKUS-" + i);
+                jira.setUrl("https://issues.redhat.com/browse/QUARKUS-" + i);
+                existingJiras.add(jira);
+            }
+            pullRequest.setExistingJiras(existingJiras);
+            pullRequests.add(pullRequest);
+        }
+    }
+
+    @Benchmark
+    public String page() {
+        return template.data("projectNumber", 62)
+                .data("githubFixVersion", "3.20.1")
+                .data("jiraFixVersion", "3.20.1.GA")
+                .data("repo", "quarkusio/quarkus")
+                .render();
+    }
+
+    @Benchmark
+    public String rows() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(pullRequests.stream().map(ImportingRow::of).toList());
+    }
+
+    // the templates are loaded from the classpath, like in the application;
+    // `{#include}` references them without the suffix
+    static Optional<TemplateLocation> locate(String id) {
+        String path = "templates/" + (id.endsWith(".html") ? id : id + ".html");
+        if (ImportingPageBenchmark.class.getClassLoader().getResource(path) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new TemplateLocation() {
+            @Override
+            public Reader read() {
+                return new InputStreamReader(ImportingPageBenchmark.class.getClassLoader().getResourceAsStream(path),
+                        StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Optional<Variant> getVariant() {
+                return Optional.of(HTML);
+            }
+        });
+    }
+}
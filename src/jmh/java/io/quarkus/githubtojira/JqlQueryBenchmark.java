@@ -0,0 +1,34 @@
+package io.quarkus.githubtojira;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the JQL queries that look up existing Jiras for a board.
+ */
+@State(Scope.Benchmark)
+public class JqlQueryBenchmark {
+
+    @Param({"100", "1000"})
+    int pullRequests;
+
+    final List<String> prUrls = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < pullRequests; i++) {
+            prUrls.add("https://github.com/quarkusio/quarkus/pull/" + (40000 + i));
+        }
+    }
+
+    @Benchmark
+    public List<String> buildExistingJirasQueries() {
+        return JiraService.buildExistingJirasQueries("QUARKUS", prUrls, "3.20.*", 3000);
+    }
+}
@@ -0,0 +1,64 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link PullRequestJiraLinker} with the original nested scan over all Jiras for every pull request.
+ * Half of the pull requests have an existing Jira, some Jiras reference several pull requests.
+ */
+@State(Scope.Benchmark)
+public class LinkingBenchmark {
+
+    @Param({"100", "1000"})
+    int pullRequestCount;
+
+    final List<PullRequestInfo> pullRequests = new ArrayList<>();
+    final List<JiraInfo> jiras = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < pullRequestCount; i++) {
+            PullRequestInfo pullRequest = new PullRequestInfo();
+            pullRequest.setNumber(40000 + i);
+            pullRequest.setUrl("https://github.com/quarkusio/quarkus/pull/" + (40000 + i));
+            pullRequests.add(pullRequest);
+        }
+        for (int i = 0; i < pullRequestCount; i += 2) {
+            JiraInfo jira = new JiraInfo();
+            jira.setKey("QUARKUS-" + i);
+            jira.setUrl("https://issues.redhat.com/browse/QUARKUS-" + i);
+            List<String> urls = new ArrayList<>();
+            urls.add(pullRequests.get(i).getUrl());
+            if (i % 10 == 0) {
+                urls.add("https://github.com/quarkusio/quarkus/pull/" + (30000 + i));
+            }
+            jira.setGitPullRequestUrls(urls);
+            jiras.add(jira);
+        }
+    }
+
+    @Benchmark
+    public List<PullRequestInfo> indexedLinking() {
+        PullRequestJiraLinker.link(pullRequests, jiras);
+        return pullRequests;
+    }
+
+    @Benchmark
+    public List<PullRequestInfo> nestedScan() {
+        for (PullRequestInfo pullRequest : pullRequests) {
+            pullRequest.setExistingJiras(new ArrayList<>());
+            jiras.stream().filter(jira -> jira.getGitPullRequestUrls().contains(pullRequest.getUrl()))
+                    .forEach(jira -> pullRequest.getExistingJiras().add(jira));
+        }
+        return pullRequests;
+    }
+}
@@ -0,0 +1,92 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent requests to an upstream service to `maxConcurrent`. The requests over the limit
+ * wait in a queue, which is bounded too: once `maxWaiting` requests are waiting, further requests fail immediately
+ * with {@link BulkheadFullException}, so that they don't pile up while the service is slow.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Queue<Runnable> waitingRequests = new ConcurrentLinkedQueue<>();
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+    }
+
+    public <T> Uni<T> run(Supplier<Uni<T>> request) {
+        return acquire().chain(() -> Uni.createFrom().deferred(request::get).eventually(this::release));
+    }
+
+    /**
+     * The number of requests waiting for a free slot.
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    private Uni<Void> acquire() {
+        return Uni.createFrom().emitter(emitter -> {
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                emitter.fail(new BulkheadFullException("Too many requests to " + name + " are waiting"));
+                return;
+            }
+            waitingRequests.add(() -> grant(emitter));
+            drain();
+        });
+    }
+
+    private void grant(UniEmitter<? super Void> emitter) {
+        if (emitter.isCancelled()) {
+            release();
+        } else {
+            emitter.complete(null);
+        }
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waitingRequests.isEmpty()) {
+            int current = active.get();
+            if (current >= maxConcurrent) {
+                return;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                Runnable next = waitingRequests.poll();
+                if (next == null) {
+                    active.decrementAndGet();
+                } else {
+                    waiting.decrementAndGet();
+                    next.run();
+                }
+            }
+        }
+    }
+
+    public static class BulkheadFullException extends RuntimeException {
+
+        BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+}
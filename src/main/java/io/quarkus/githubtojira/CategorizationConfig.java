@@ -0,0 +1,42 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rules that assign Jira labels to imported pull requests, see {@link CategorizationRules}.
+ */
+@ConfigMapping(prefix = "jira.categorization")
+public interface CategorizationConfig {
+
+    /**
+     * If true, only the label of the first matching rule is assigned, otherwise labels of all matching rules are.
+     */
+    @WithDefault("true")
+    boolean firstMatchOnly();
+
+    /**
+     * GitHub labels starting with any of these prefixes are not taken into account.
+     */
+    @WithDefault("triage,kind")
+    List<String> ignoredLabelPrefixes();
+
+    List<Rule> rules();
+
+    interface Rule {
+
+        /**
+         * The Jira label to assign.
+         */
+        String label();
+
+        Optional<List<String>> githubLabels();
+
+        Optional<List<String>> pathPrefixes();
+
+        Optional<List<String>> pathSuffixes();
+    }
+}
@@ -0,0 +1,201 @@
+package io.quarkus.githubtojira;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns Jira labels to a pull request based on its GitHub labels and changed files.
+ * <p>
+ * A rule matches if any of these holds:
+ * <ul>
+ *     <li>all GitHub labels of the PR (except the ignored ones) are among the labels of the rule</li>
+ *     <li>all changed files start with one of the path prefixes of the rule</li>
+ *     <li>all changed files end with one of the path suffixes of the rule</li>
+ * </ul>
+ * The rules are compiled into a prefix trie and a suffix trie that map a path to the set of rules it satisfies
+ * (as a bit mask), so each changed file is looked at once, no matter how many rules there are.
+ * A {@link Classification} can be fed the files incrementally and tells when further files can't change the outcome.
+ */
+public final class CategorizationRules {
+
+    // one bit per rule in the masks
+    private static final int MAX_RULES = Long.SIZE;
+
+    private final List<String> jiraLabels;
+    private final long allRules;
+    private final Map<String, Long> rulesByGithubLabel;
+    private final List<String> ignoredLabelPrefixes;
+    private final TrieNode prefixes = new TrieNode();
+    // suffixes are stored reversed
+    private final TrieNode suffixes = new TrieNode();
+    private final boolean firstMatchOnly;
+
+    private CategorizationRules(List<Rule> rules, List<String> ignoredLabelPrefixes, boolean firstMatchOnly) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("At most " + MAX_RULES + " categorization rules are supported, got " + rules.size());
+        }
+        this.jiraLabels = rules.stream().map(Rule::jiraLabel).toList();
+        this.allRules = rules.size() == MAX_RULES ? -1L : (1L << rules.size()) - 1;
+        this.ignoredLabelPrefixes = List.copyOf(ignoredLabelPrefixes);
+        this.firstMatchOnly = firstMatchOnly;
+        this.rulesByGithubLabel = new HashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            long bit = 1L << i;
+            Rule rule = rules.get(i);
+            for (String githubLabel : rule.githubLabels()) {
+                rulesByGithubLabel.merge(githubLabel, bit, (a, b) -> a | b);
+            }
+            for (String prefix : rule.pathPrefixes()) {
+                prefixes.add(prefix, false, bit);
+            }
+            for (String suffix : rule.pathSuffixes()) {
+                suffixes.add(suffix, true, bit);
+            }
+        }
+    }
+
+    public static CategorizationRules compile(List<Rule> rules, List<String> ignoredLabelPrefixes, boolean firstMatchOnly) {
+        return new CategorizationRules(rules, ignoredLabelPrefixes, firstMatchOnly);
+    }
+
+    public static CategorizationRules compile(CategorizationConfig config) {
+        List<Rule> rules = config.rules().stream()
+                .map(rule -> new Rule(rule.label(),
+                        rule.githubLabels().orElse(List.of()),
+                        rule.pathPrefixes().orElse(List.of()),
+                        rule.pathSuffixes().orElse(List.of())))
+                .toList();
+        return compile(rules, config.ignoredLabelPrefixes(), config.firstMatchOnly());
+    }
+
+    /**
+     * Returns the Jira labels for a PR with the given GitHub labels and changed files.
+     */
+    public List<String> classify(List<String> githubLabels, List<String> files) {
+        Classification classification = newClassification(githubLabels);
+        for (String file : files) {
+            classification.accept(file);
+        }
+        return classification.jiraLabels();
+    }
+
+    /**
+     * Starts a classification of a PR with the given GitHub labels. The changed files are then passed
+     * to {@link Classification#accept(String)} one by one.
+     */
+    public Classification newClassification(List<String> githubLabels) {
+        long matchingLabels = allRules;
+        for (String githubLabel : githubLabels) {
+            if (isIgnored(githubLabel)) {
+                continue;
+            }
+            matchingLabels &= rulesByGithubLabel.getOrDefault(githubLabel, 0L);
+        }
+        return new Classification(matchingLabels);
+    }
+
+    private boolean isIgnored(String githubLabel) {
+        for (String prefix : ignoredLabelPrefixes) {
+            if (githubLabel.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final class Classification {
+
+        private final long matchingLabels;
+        // rules for which all files seen so far match a prefix / a suffix
+        private long matchingPrefixes = allRules;
+        private long matchingSuffixes = allRules;
+
+        private Classification(long matchingLabels) {
+            this.matchingLabels = matchingLabels;
+        }
+
+        public void accept(String file) {
+            if ((matchingPrefixes | matchingSuffixes) == 0) {
+                return;
+            }
+            matchingPrefixes &= prefixes.matchPrefixes(file);
+            matchingSuffixes &= suffixes.matchSuffixes(file);
+        }
+
+        /**
+         * Returns true if no further file can change the result of the classification.
+         */
+        public boolean isDecided() {
+            // rules that still match by paths, but could stop matching with more files
+            long undecided = (matchingPrefixes | matchingSuffixes) & ~matchingLabels;
+            if (firstMatchOnly && matchingLabels != 0) {
+                // only the rules preceding the first rule matching by labels can still change the result
+                undecided &= Long.lowestOneBit(matchingLabels) - 1;
+            }
+            return undecided == 0;
+        }
+
+        public List<String> jiraLabels() {
+            long matching = (matchingLabels | matchingPrefixes | matchingSuffixes) & allRules;
+            if (firstMatchOnly) {
+                matching = Long.lowestOneBit(matching);
+            }
+            List<String> result = new ArrayList<>(Long.bitCount(matching));
+            while (matching != 0) {
+                int rule = Long.numberOfTrailingZeros(matching);
+                result.add(jiraLabels.get(rule));
+                matching &= matching - 1;
+            }
+            return result;
+        }
+    }
+
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        // rules having a prefix/suffix that ends in this node
+        private long rules;
+
+        void add(String string, boolean reversed, long rule) {
+            TrieNode node = this;
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(reversed ? string.length() - 1 - i : i);
+                node = node.children.computeIfAbsent(c, key -> new TrieNode());
+            }
+            node.rules |= rule;
+        }
+
+        long matchPrefixes(String path) {
+            long result = rules;
+            TrieNode node = this;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.children.get(path.charAt(i));
+                if (node != null) {
+                    result |= node.rules;
+                }
+            }
+            return result;
+        }
+
+        long matchSuffixes(String path) {
+            long result = rules;
+            TrieNode node = this;
+            for (int i = path.length() - 1; i >= 0 && node != null; i--) {
+                node = node.children.get(path.charAt(i));
+                if (node != null) {
+                    result |= node.rules;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A categorization rule, see the class description.
+     */
+    public record Rule(String jiraLabel, List<String> githubLabels, List<String> pathPrefixes, List<String> pathSuffixes) {
+
+    }
+}
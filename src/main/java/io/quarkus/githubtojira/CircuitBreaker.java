@@ -0,0 +1,115 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stops sending requests to an upstream service that keeps failing. After `failureThreshold` consecutive failures
+ * the breaker opens, and requests fail immediately with {@link CircuitBreakerOpenException} for `openDuration`.
+ * Then a single trial request is let through: if it succeeds, the breaker closes, otherwise it opens again.
+ * Only the failures matching `isFailure` count, for example a rejected request doesn't mean that the service is down.
+ */
+public class CircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Predicate<Throwable> isFailure;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Predicate<Throwable> isFailure) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.isFailure = isFailure;
+    }
+
+    public <T> Uni<T> call(Supplier<Uni<T>> request) {
+        return Uni.createFrom().deferred(() -> {
+            if (!tryAcquire()) {
+                return Uni.createFrom().failure(new CircuitBreakerOpenException(
+                        name + " is failing, requests are not sent to it for " + openDuration));
+            }
+            return Uni.createFrom().deferred(request::get)
+                    .invoke(item -> onSuccess())
+                    .onFailure().invoke(this::onFailure)
+                    .onCancellation().invoke(this::onCancellation);
+        });
+    }
+
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    private synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAtNanos < openDuration.toNanos()) {
+                    yield false;
+                }
+                Log.info("Sending a trial request to " + name);
+                state = State.HALF_OPEN;
+                yield true;
+            }
+            // the trial request is in flight
+            case HALF_OPEN -> false;
+        };
+    }
+
+    // the outcomes of the requests that were sent before the breaker opened are ignored
+    private synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            Log.info(name + " recovered, sending requests to it again");
+        }
+        if (state != State.OPEN) {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+    }
+
+    private synchronized void onFailure(Throwable failure) {
+        if (!isFailure.test(failure)) {
+            // the service answered
+            onSuccess();
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            Log.warn(name + " failed " + consecutiveFailures + " times in a row, not sending requests to it for "
+                    + openDuration + ": " + failure.getMessage());
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    // a cancelled trial request tells nothing, the next request is the trial
+    private synchronized void onCancellation() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public static class CircuitBreakerOpenException extends RuntimeException {
+
+        CircuitBreakerOpenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.quarkus.rest.client.reactive.ClientExceptionMapper;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends GraphQL queries to GitHub as plain HTTP requests, so that large responses are decoded by Jackson straight
+ * into records, without building a JSON tree first. Only used for the project board listing, the other queries
+ * go through the dynamic GraphQL client. Configured by the `quarkus.rest-client.github.*` properties.
+ */
+@RegisterRestClient(configKey = "github")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface GitHubGraphQLClient {
+
+    @POST
+    Uni<ProjectItemsResponse> projectItems(Request request);
+
+    // GitHub explains rate limit failures (403 or 429) in the body, it's kept in the message,
+    // so that GitHubQueryExecutor recognizes them as retryable
+    @ClientExceptionMapper
+    static RuntimeException toException(Response response) {
+        return new WebApplicationException("GitHub responded with status " + response.getStatus() + ": "
+                + response.readEntity(String.class), response);
+    }
+
+    record Request(String query, Map<String, Object> variables) {
+
+    }
+
+    record Error(String message, String type) {
+
+    }
+
+    record RateLimit(Integer cost, Integer remaining, String resetAt) {
+
+    }
+
+    // the response of the `projectItems` query, see GitHubService#fetchBoardPage
+    record ProjectItemsResponse(ProjectItemsData data, List<Error> errors) {
+
+    }
+
+    record ProjectItemsData(Organization organization, RateLimit rateLimit) {
+
+    }
+
+    record Organization(Project projectV2) {
+
+    }
+
+    record Project(Items items) {
+
+    }
+
+    record Items(List<Item> nodes, PageInfo pageInfo) {
+
+    }
+
+    // `content` is empty for items that are not pull requests
+    record Item(@JsonProperty("STATUS") Status status, Content content) {
+
+    }
+
+    record Status(@JsonProperty("FIXVERSION") String fixVersion) {
+
+    }
+
+    record Content(String url, String title, Integer number) {
+
+    }
+
+    record PageInfo(String endCursor, boolean hasNextPage) {
+
+    }
+}
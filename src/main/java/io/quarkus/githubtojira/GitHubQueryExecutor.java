@@ -0,0 +1,333 @@
+package io.quarkus.githubtojira;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.smallrye.graphql.client.GraphQLClient;
+import io.smallrye.graphql.client.GraphQLError;
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * All GitHub GraphQL queries go through this executor. It:
+ * <ul>
+ *     <li>tracks the remaining rate limit budget, using the `rateLimit { cost remaining resetAt }` selection
+ *     that every query is expected to contain</li>
+ *     <li>spreads requests evenly until the reset time once the budget drops under `github.rate-limit.pacing-threshold`,
+ *     and holds them until the reset when only `github.rate-limit.reserve` points are left; a request that would be held
+ *     for longer than `github.rate-limit.max-pacing-delay` fails immediately instead</li>
+ *     <li>limits the number of concurrent requests to `github.max-concurrent-requests`
+ *     (GitHub's secondary rate limits punish bursts), at most `github.max-waiting-requests` can wait for a slot</li>
+ *     <li>fails requests that take longer than `github.timeout`</li>
+ *     <li>retries requests that failed because of rate limiting or a gateway error, with jittered exponential backoff</li>
+ *     <li>stops sending requests for a while when GitHub keeps failing, see `github.circuit-breaker.*`</li>
+ *     <li>times every request sent to GitHub (`github.requests`), tagged by operation, outcome and repository</li>
+ *     <li>coalesces identical queries (same query and variables) that are in flight at the same time, so that
+ *     concurrent callers share one request and its result, see {@link SingleFlight}</li>
+ * </ul>
+ * Most queries are sent by the dynamic GraphQL client. Queries with large responses can be sent by another client
+ * that decodes the response differently (see {@link GitHubGraphQLClient}), the executor then only needs
+ * a {@link ResponseSummary} of the response.
+ */
+@ApplicationScoped
+public class GitHubQueryExecutor {
+
+    // messages of GraphQL errors caused by rate limiting, besides the ones of type RATE_LIMITED
+    private static final Pattern RATE_LIMIT_ERROR = Pattern.compile(
+            "(?i).*(secondary rate limit|rate limit exceeded|abuse detection).*", Pattern.DOTALL);
+    // HTTP statuses and messages of transport failures that are worth retrying, only applied to exceptions:
+    // a GraphQL error message may contain these numbers for other reasons (e.g. the number of a pull request)
+    private static final Pattern RETRYABLE_FAILURE = Pattern.compile(
+            "(?i).*(secondary rate limit|rate limit exceeded|abuse detection|\\b429\\b|\\b502\\b|\\b503\\b|\\b504\\b).*", Pattern.DOTALL);
+
+    @Inject
+    @GraphQLClient("github")
+    DynamicGraphQLClient client;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "github.rate-limit.reserve")
+    int reserve;
+
+    @ConfigProperty(name = "github.rate-limit.pacing-threshold")
+    int pacingThreshold;
+
+    @ConfigProperty(name = "github.rate-limit.max-pacing-delay")
+    Duration maxPacingDelay;
+
+    @ConfigProperty(name = "github.max-concurrent-requests")
+    int maxConcurrentRequests;
+
+    @ConfigProperty(name = "github.max-waiting-requests")
+    int maxWaitingRequests;
+
+    @ConfigProperty(name = "github.timeout")
+    Duration timeout;
+
+    @ConfigProperty(name = "github.circuit-breaker.failure-threshold")
+    int circuitBreakerFailureThreshold;
+
+    @ConfigProperty(name = "github.circuit-breaker.open-duration")
+    Duration circuitBreakerOpenDuration;
+
+    @ConfigProperty(name = "github.retry.max-retries")
+    int maxRetries;
+
+    @ConfigProperty(name = "github.retry.initial-backoff")
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "github.retry.max-backoff")
+    Duration maxBackoff;
+
+    // -1 until the first response tells us the budget
+    private final AtomicInteger remaining = new AtomicInteger(-1);
+    private volatile Instant resetAt;
+
+    private Bulkhead bulkhead;
+    private CircuitBreaker circuitBreaker;
+    private SingleFlight<QueryKey, Object> inFlight;
+
+    @PostConstruct
+    void init() {
+        bulkhead = new Bulkhead("GitHub", maxConcurrentRequests, maxWaitingRequests);
+        // a full bulkhead means that the app is overloaded, and an exhausted budget that it's rationing its requests,
+        // not that GitHub is failing
+        circuitBreaker = new CircuitBreaker("GitHub", circuitBreakerFailureThreshold, circuitBreakerOpenDuration,
+                failure -> !(failure instanceof Bulkhead.BulkheadFullException || failure instanceof GitHubRateLimitExhaustedException));
+        registry.gauge("github.ratelimit.remaining", remaining);
+        registry.gauge("github.requests.waiting", bulkhead, Bulkhead::waiting);
+        registry.gauge("circuit.breaker.open", Tags.of("upstream", "github"), circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0);
+        inFlight = new SingleFlight<>(key -> registry.counter("github.requests.coalesced", "operation", key.operation()).increment());
+        registry.gauge("github.requests.in-flight", inFlight, SingleFlight::size);
+    }
+
+    public Uni<Response> execute(String operation, String query, Map<String, Object> variables) {
+        return execute(operation, query, variables, () -> client.executeAsync(query, variables), GitHubQueryExecutor::summarize);
+    }
+
+    /**
+     * Executes a query that is sent by `request`, `summary` extracts the errors and the rate limit from its response.
+     * The response is shared by all callers that execute the same query with the same variables at the same time,
+     * so it must not be modified. The variables must not be modified after the call either.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Uni<R> execute(String operation, String query, Map<String, Object> variables, Supplier<Uni<R>> request,
+                              Function<R, ResponseSummary> summary) {
+        // the retries are shared as well
+        return (Uni<R>) inFlight.execute(new QueryKey(operation, query, variables),
+                () -> (Uni<Object>) circuitBreaker.call(() -> withRetries(operation, variables, request, summary)));
+    }
+
+    private <R> Uni<R> withRetries(String operation, Map<String, Object> variables, Supplier<Uni<R>> request,
+                                   Function<R, ResponseSummary> summary) {
+        return Uni.createFrom().deferred(() -> attempt(operation, variables, request, summary))
+                .onFailure(GitHubQueryExecutor::isRetryable).invoke(failure -> {
+                    Log.warn("GitHub query " + operation + " failed and will be retried: " + failure.getMessage());
+                    registry.counter("github.requests.retries", "operation", operation).increment();
+                })
+                .onFailure(GitHubQueryExecutor::isRetryable).retry()
+                .withBackOff(initialBackoff, maxBackoff).withJitter(0.5)
+                .atMost(maxRetries);
+    }
+
+    private <R> Uni<R> attempt(String operation, Map<String, Object> variables, Supplier<Uni<R>> request,
+                               Function<R, ResponseSummary> summary) {
+        return pace(operation)
+                .chain(() -> bulkhead.run(() -> timed(operation, variables, Uni.createFrom().deferred(request::get)
+                        .ifNoItem().after(timeout).failWith(() -> new TimeoutException("GitHub did not answer " + operation + " in time"))
+                        .map(response -> new Summarized<>(response, summary.apply(response))))))
+                .map(summarized -> {
+                    recordRateLimit(operation, summarized.summary());
+                    if (summarized.summary().rateLimited()) {
+                        throw new GitHubRateLimitException(summarized.summary().errors().toString());
+                    }
+                    return summarized.response();
+                });
+    }
+
+    // waits before a request is sent (outside the bulkhead, so that a paced request doesn't hold a slot),
+    // the paced requests are counted by `github.requests.paced`, tagged by operation and outcome (`delayed` or `rejected`)
+    Uni<Void> pace(String operation) {
+        Duration delay = pacingDelay();
+        if (delay.isZero()) {
+            return Uni.createFrom().voidItem();
+        }
+        if (delay.compareTo(maxPacingDelay) > 0) {
+            Log.warn("Rejecting GitHub query " + operation + ": the rate limit budget is exhausted (remaining: " + remaining.get()
+                    + ") until " + resetAt);
+            registry.counter("github.requests.paced", "operation", operation, "outcome", "rejected").increment();
+            return Uni.createFrom().failure(new GitHubRateLimitExhaustedException(
+                    "The GitHub rate limit budget is exhausted until " + resetAt));
+        }
+        Log.info("Delaying GitHub query " + operation + " by " + delay + " (remaining rate limit budget: " + remaining.get() + ")");
+        registry.counter("github.requests.paced", "operation", operation, "outcome", "delayed").increment();
+        registry.timer("github.requests.pacing.delay", "operation", operation).record(delay);
+        return Uni.createFrom().voidItem().onItem().delayIt().by(delay);
+    }
+
+    // the outcome is `success`, `error` (the response contains GraphQL errors) or `failure` (no response)
+    private <R> Uni<Summarized<R>> timed(String operation, Map<String, Object> variables, Uni<Summarized<R>> request) {
+        return Uni.createFrom().deferred(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return request
+                    .invoke(summarized -> sample.stop(requestTimer(operation, variables,
+                            summarized.summary().hasError() ? "error" : "success")))
+                    .onFailure().invoke(failure -> sample.stop(requestTimer(operation, variables, "failure")));
+        });
+    }
+
+    private Timer requestTimer(String operation, Map<String, Object> variables, String outcome) {
+        return Timer.builder("github.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("repository", repositoryTag(variables))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // `owner/name` for repository queries, the organization for project queries
+    static String repositoryTag(Map<String, Object> variables) {
+        if (variables.get("owner") != null && variables.get("name") != null) {
+            return variables.get("owner") + "/" + variables.get("name");
+        }
+        return Objects.toString(variables.get("organization"), "none");
+    }
+
+    Duration pacingDelay() {
+        int currentRemaining = remaining.get();
+        Instant currentResetAt = resetAt;
+        if (currentRemaining < 0 || currentResetAt == null) {
+            return Duration.ZERO;
+        }
+        Duration untilReset = Duration.between(Instant.now(), currentResetAt);
+        if (untilReset.isNegative() || untilReset.isZero()) {
+            return Duration.ZERO;
+        }
+        if (currentRemaining <= reserve) {
+            return untilReset;
+        }
+        if (currentRemaining < pacingThreshold) {
+            return untilReset.dividedBy(currentRemaining - reserve);
+        }
+        return Duration.ZERO;
+    }
+
+    void recordRateLimit(String operation, ResponseSummary summary) {
+        if (summary.remaining() != null) {
+            remaining.set(summary.remaining());
+        }
+        if (summary.cost() != null) {
+            registry.counter("github.ratelimit.cost", "operation", operation).increment(summary.cost());
+        }
+        if (summary.resetAt() != null) {
+            resetAt = Instant.parse(summary.resetAt());
+        }
+        Log.debug("GitHub rate limit after " + operation + ": cost " + summary.cost()
+                + ", remaining " + summary.remaining() + ", reset at " + summary.resetAt());
+    }
+
+    static ResponseSummary summarize(Response response) {
+        List<String> errors = new ArrayList<>();
+        boolean rateLimited = false;
+        if (response.hasError()) {
+            for (GraphQLError error : response.getErrors()) {
+                Object type = error.getOtherFields() == null ? null : error.getOtherFields().get("type");
+                errors.add(error.toString());
+                rateLimited |= isRateLimitError(Objects.toString(type, null), error.getMessage());
+            }
+        }
+        JsonObject data = response.getData();
+        if (data == null || !(data.get("rateLimit") instanceof JsonObject rateLimit)) {
+            return new ResponseSummary(errors, rateLimited, null, null, null);
+        }
+        return new ResponseSummary(errors, rateLimited, intOrNull(rateLimit, "cost"), intOrNull(rateLimit, "remaining"),
+                rateLimit.getString("resetAt", null));
+    }
+
+    static ResponseSummary summarize(List<GitHubGraphQLClient.Error> errors, GitHubGraphQLClient.RateLimit rateLimit) {
+        List<String> errorList = new ArrayList<>();
+        boolean rateLimited = false;
+        if (errors != null) {
+            for (GitHubGraphQLClient.Error error : errors) {
+                errorList.add(error.toString());
+                rateLimited |= isRateLimitError(error.type(), error.message());
+            }
+        }
+        return rateLimit == null
+                ? new ResponseSummary(errorList, rateLimited, null, null, null)
+                : new ResponseSummary(errorList, rateLimited, rateLimit.cost(), rateLimit.remaining(), rateLimit.resetAt());
+    }
+
+    private static Integer intOrNull(JsonObject object, String name) {
+        JsonValue value = object.get(name);
+        return value != null && value.getValueType() == JsonValue.ValueType.NUMBER ? object.getInt(name) : null;
+    }
+
+    private static boolean isRateLimitError(String type, String message) {
+        return "RATE_LIMITED".equals(type) || (message != null && RATE_LIMIT_ERROR.matcher(message).matches());
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        return failure instanceof GitHubRateLimitException
+                || (failure.getMessage() != null && RETRYABLE_FAILURE.matcher(failure.getMessage()).matches());
+    }
+
+    /**
+     * What the executor needs to know about a response: its errors (if any), whether they are caused
+     * by rate limiting, and the `rateLimit` selection (null if it's missing from the response).
+     */
+    public record ResponseSummary(List<String> errors, boolean rateLimited, Integer cost, Integer remaining, String resetAt) {
+
+        public boolean hasError() {
+            return !errors.isEmpty();
+        }
+    }
+
+    private record Summarized<R>(R response, ResponseSummary summary) {
+
+    }
+
+    // the operation is determined by the query, it's only part of the key to tag the metrics
+    private record QueryKey(String operation, String query, Map<String, Object> variables) {
+
+    }
+
+    static class GitHubRateLimitException extends RuntimeException {
+
+        GitHubRateLimitException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Thrown without sending the request when the remaining budget would hold it for longer than
+     * `github.rate-limit.max-pacing-delay`. It's neither retried nor counted by the circuit breaker.
+     */
+    public static class GitHubRateLimitExhaustedException extends RuntimeException {
+
+        GitHubRateLimitExhaustedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package io.quarkus.githubtojira;
 
-import io.atlassian.fugue.Iterables;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.githubtojira.model.ProjectInfo;
 import io.quarkus.githubtojira.model.PullRequestInfo;
 import io.quarkus.logging.Log;
-import io.smallrye.graphql.client.GraphQLClient;
 import io.smallrye.graphql.client.Response;
 import io.smallrye.graphql.client.core.Document;
 import io.smallrye.graphql.client.core.Operation;
 import io.smallrye.graphql.client.core.OperationType;
-import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonValue;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -24,17 +27,52 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class GitHubService {
 
+    private static final String PULL_REQUEST_FIELDS = """
+            fragment PullRequestFields on PullRequest {
+                url
+                title
+                number
+                bodyText
+                labels(first:20) {
+                    nodes {
+                        name
+                    }
+                }
+                changedFiles
+                additions
+                deletions
+                files(first: 100) {
+                    nodes {
+                        path
+                    }
+                    pageInfo {
+                        endCursor
+                        hasNextPage
+                    }
+                }
+            }
+            """;
+
     @Inject
-    @GraphQLClient("github")
-    DynamicGraphQLClient client;
+    GitHubQueryExecutor queryExecutor;
+
+    @Inject
+    @RestClient
+    GitHubGraphQLClient graphQLClient;
+
+    @Inject
+    MeterRegistry registry;
 
     @ConfigProperty(name = "github.organization")
     private String organization;
@@ -42,117 +80,217 @@ public class GitHubService {
     @ConfigProperty(name = "github.repository")
     private String repository;
 
+    @ConfigProperty(name = "github.server-side-status-filter")
+    boolean serverSideStatusFilter;
+
+    @ConfigProperty(name = "github.pr-batch-size")
+    int prBatchSize;
+
+    @Inject
+    CategorizationConfig categorizationConfig;
+
+    private CategorizationRules categorizationRules;
+
+    // the last complete listing of every column of the backport projects, keyed by `projectNumber/fixVersion`,
+    // served when listing the column fails (there are only a few columns, so they are all kept)
+    private final Map<String, List<PullRequestInfo>> lastBoardListings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        categorizationRules = CategorizationRules.compile(categorizationConfig);
+    }
+
 
     /**
      * Retrieves information about a pull request given the PR number.
+     * Returns null if the pull request can't be retrieved.
      */
     public PullRequestInfo getPullRequestInfo(String prNumber, String repo) {
+        try {
+            return getPullRequestInfoAsync(prNumber, repo).await().indefinitely();
+        } catch (Exception e) {
+            Log.error("Error fetching pull request info for PR #" + prNumber, e);
+            return null;
+        }
+    }
+
+    public Uni<PullRequestInfo> getPullRequestInfoAsync(String prNumber, String repo) {
         String query = """
             query ($owner: String!, $name: String!, $number: Int!) {
                 repository(owner: $owner, name: $name) {
                     pullRequest(number: $number) {
-                        url
-                        title
-                        number
-                        bodyText
-                        labels(first:20) {
-                            nodes {
-                                name
-                            }
-                        }
-                        changedFiles
-                        additions
-                        deletions
-                        files(first: 50) {
-                            nodes {
-                                path
-                            }
-                        }
+                        ...PullRequestFields
                     }
                 }
+                rateLimit {
+                    cost
+                    remaining
+                    resetAt
+                }
             }
-            """;
+            """ + PULL_REQUEST_FIELDS;
         String org = repo.split("/")[0];
         String repoName = repo.split("/")[1];
         Map<String, Object> args = Map.of("owner", org,
                 "name", repoName,
                 "number", Integer.parseInt(prNumber));
-        try {
-            Response response = client.executeSync(query, args);
-            checkForErrors(response);
-            JsonObject prData = response.getData().getJsonObject("repository").getJsonObject("pullRequest");
-            PullRequestInfo prInfo = new PullRequestInfo();
-            prInfo.setUrl(prData.getString("url"));
-            prInfo.setTitle(prData.getString("title"));
-            prInfo.setNumber(prData.getInt("number"));
-            prInfo.setDescription(prData.getString("bodyText"));
-            List<String> labels = prData.getJsonObject("labels").getJsonArray("nodes").stream()
-                    .map(label -> label.asJsonObject().getString("name"))
-                    .toList();
-            Log.debug("PR labels: " + labels);
-
-            int changedFiles = prData.getInt("changedFiles");
-            int additions = prData.getInt("additions");
-            int deletions = prData.getInt("deletions");
-            List<String> files = prData.getJsonObject("files").getJsonArray("nodes").stream()
-                    .map(label -> label.asJsonObject().getString("path"))
-                    .toList();
-            Log.debug("Counts:   changedFiles: " + changedFiles + "\tadditions: " + additions + "\tdeletions: " + deletions);
-            Log.debug("Files: " + files);
-
-            Iterable<String> jiraLabels = jiraIssuesCategorization(labels, files);
-            Log.debug("JIRA labels: " + jiraLabels);
-
-            prInfo.setLabels(labels);
-            prInfo.setFiles(files);
-            prInfo.setJiraLabels(jiraLabels);
-
-            return prInfo;
-        } catch (Exception e) {
-            Log.error("Error fetching pull request info for PR #" + prNumber, e);
-            return null;
+        return queryExecutor.execute("pullRequest", query, args)
+                .chain(response -> {
+                    checkForErrors(response);
+                    return toPullRequestInfo(repo, response.getData().getJsonObject("repository").getJsonObject("pullRequest"));
+                });
+    }
+
+    /**
+     * Retrieves information about multiple pull requests of one repository.
+     * The pull requests are fetched in batches of `github.pr-batch-size`, each batch being a single query
+     * with one aliased `pullRequest` selection per PR. Pull requests that don't exist are left out of the result.
+     */
+    public Uni<List<PullRequestInfo>> getPullRequestInfosAsync(String repo, List<Integer> prNumbers) {
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int i = 0; i < prNumbers.size(); i += prBatchSize) {
+            batches.add(prNumbers.subList(i, Math.min(i + prBatchSize, prNumbers.size())));
         }
+        return Multi.createFrom().iterable(batches)
+                .onItem().transformToUni(batch -> fetchPullRequestBatch(repo, batch)).merge()
+                .onItem().<PullRequestInfo>disjoint()
+                .collect().asList();
+    }
+
+    private Uni<List<PullRequestInfo>> fetchPullRequestBatch(String repo, List<Integer> prNumbers) {
+        // looks like: pr123: pullRequest(number: 123) { ...PullRequestFields }
+        String pullRequests = prNumbers.stream()
+                .map(number -> "pr" + number + ": pullRequest(number: " + number + ") { ...PullRequestFields }")
+                .collect(Collectors.joining("\n"));
+        String query = """
+            query ($owner: String!, $name: String!) {
+                repository(owner: $owner, name: $name) {
+                    %s
+                }
+                rateLimit {
+                    cost
+                    remaining
+                    resetAt
+                }
+            }
+            """.formatted(pullRequests) + PULL_REQUEST_FIELDS;
+        Map<String, Object> args = Map.of("owner", repo.split("/")[0],
+                "name", repo.split("/")[1]);
+        return queryExecutor.execute("pullRequestBatch", query, args)
+                .chain(response -> {
+                    // PRs that don't exist are reported as NOT_FOUND errors, that shouldn't fail the whole batch
+                    if (response.hasError()) {
+                        boolean onlyNotFound = response.getErrors().stream()
+                                .allMatch(error -> error.getOtherFields() != null && "NOT_FOUND".equals(error.getOtherFields().get("type")));
+                        if (!onlyNotFound || response.getData() == null) {
+                            checkForErrors(response);
+                        }
+                        Log.warn("Some pull requests were not found in " + repo + ": " + response.getErrors());
+                    }
+                    JsonObject repository = response.getData().getJsonObject("repository");
+                    List<Uni<PullRequestInfo>> result = new ArrayList<>();
+                    for (Integer number : prNumbers) {
+                        JsonValue prData = repository.get("pr" + number);
+                        if (prData != null && prData.getValueType() == JsonValue.ValueType.OBJECT) {
+                            result.add(toPullRequestInfo(repo, prData.asJsonObject()));
+                        }
+                    }
+                    return result.isEmpty()
+                            ? Uni.createFrom().item(List.<PullRequestInfo>of())
+                            : Uni.join().all(result).andFailFast();
+                });
     }
 
+    /**
+     * Maps the PR data to a PullRequestInfo. The first page of changed files is part of the PR data,
+     * the following pages are only fetched while they can still change the Jira labels of the PR.
+     */
+    private Uni<PullRequestInfo> toPullRequestInfo(String repo, JsonObject prData) {
+        PullRequestInfo prInfo = new PullRequestInfo();
+        prInfo.setUrl(prData.getString("url"));
+        prInfo.setTitle(prData.getString("title"));
+        prInfo.setNumber(prData.getInt("number"));
+        prInfo.setDescription(prData.getString("bodyText"));
+        List<String> labels = prData.getJsonObject("labels").getJsonArray("nodes").stream()
+                .map(label -> label.asJsonObject().getString("name"))
+                .toList();
+        Log.debug("PR labels: " + labels);
+        prInfo.setLabels(labels);
 
-    private Iterable<String> jiraIssuesCategorization(List<String> prLabels, List<String> prFiles) {
+        int changedFiles = prData.getInt("changedFiles");
+        int additions = prData.getInt("additions");
+        int deletions = prData.getInt("deletions");
+        Log.debug("Counts:   changedFiles: " + changedFiles + "\tadditions: " + additions + "\tdeletions: " + deletions);
 
-        if (checkLabelsAndPaths(prLabels, prFiles, List.of("area/documentation", "area/docstyle"),
-                List.of("docs/src"), List.of(".adoc", ".md"))) {
-            return Iterables.iterable("upstream-docs");
-        }
+        List<String> files = new ArrayList<>();
+        CategorizationRules.Classification classification = categorizationRules.newClassification(labels);
+        JsonObject filesPage = prData.getJsonObject("files");
+        return fetchRemainingFiles(repo, prInfo.getNumber(), filesPage, files, classification)
+                .map(ignored -> {
+                    Log.debug("Files: " + files);
+                    List<String> jiraLabels = classification.jiraLabels();
+                    Log.debug("JIRA labels: " + jiraLabels);
+                    // if the classification was decided early, this is only a part of the changed files
+                    prInfo.setFiles(files);
+                    prInfo.setJiraLabels(jiraLabels);
+                    return prInfo;
+                });
+    }
 
-        if (checkLabelsAndPaths(prLabels, prFiles, List.of("area/infra-automation"),
-                List.of(".github", ".mvn/maven.config", "devtools/cli/distribution"), List.of())) {
-            return Iterables.iterable("upstream-infra");
+    private Uni<Void> fetchRemainingFiles(String repo, Integer prNumber, JsonObject filesPage, List<String> files,
+                                          CategorizationRules.Classification classification) {
+        for (JsonValue file : filesPage.getJsonArray("nodes")) {
+            String path = file.asJsonObject().getString("path");
+            files.add(path);
+            classification.accept(path);
         }
-
-        if (checkLabelsAndPaths(prLabels, prFiles, List.of("area/testing"),
-                List.of("test-framework", "integration-tests"), List.of("TestCase.java", "Test.java"))) {
-            return Iterables.iterable("upstream-testing");
+        JsonObject pageInfo = filesPage.getJsonObject("pageInfo");
+        if (!pageInfo.getBoolean("hasNextPage")) {
+            return Uni.createFrom().voidItem();
         }
-
-        return Iterables.emptyIterable();
+        if (classification.isDecided()) {
+            Log.debug("Not fetching more changed files of " + repo + "#" + prNumber + ", the Jira labels are decided");
+            return Uni.createFrom().voidItem();
+        }
+        String query = """
+            query ($owner: String!, $name: String!, $number: Int!, $after: String!) {
+                repository(owner: $owner, name: $name) {
+                    pullRequest(number: $number) {
+                        files(first: 100, after: $after) {
+                            nodes {
+                                path
+                            }
+                            pageInfo {
+                                endCursor
+                                hasNextPage
+                            }
+                        }
+                    }
+                }
+                rateLimit {
+                    cost
+                    remaining
+                    resetAt
+                }
+            }
+            """;
+        Map<String, Object> args = Map.of("owner", repo.split("/")[0],
+                "name", repo.split("/")[1],
+                "number", prNumber,
+                "after", pageInfo.getString("endCursor"));
+        return queryExecutor.execute("pullRequestFiles", query, args)
+                .chain(response -> {
+                    checkForErrors(response);
+                    JsonObject nextPage = response.getData().getJsonObject("repository").getJsonObject("pullRequest").getJsonObject("files");
+                    return fetchRemainingFiles(repo, prNumber, nextPage, files, classification);
+                });
     }
 
-    private static boolean checkLabelsAndPaths(List<String> prLabels, List<String> prFiles, List<String> expectedLabels,
-                                               List<String> expectedPathStarts, List<String> expectedPathEnds) {
-
-        boolean prLabelsMatch = prLabels.stream()
-                .filter(label -> !label.startsWith("triage"))
-                .filter(label -> !label.startsWith("kind"))
-                .allMatch(label -> expectedLabels.contains(label));
-        boolean prFilesStartMatch = prFiles.stream()
-                .allMatch(changedFile -> expectedPathStarts.stream()
-                        .anyMatch(expectedPathStart -> changedFile.startsWith(expectedPathStart)));
-        boolean prFilesEndMatch = prFiles.stream()
-                .allMatch(changedFile -> expectedPathEnds.stream()
-                        .anyMatch(expectedPathEnd -> changedFile.endsWith(expectedPathEnd)));
-
-        return prLabelsMatch || prFilesStartMatch || prFilesEndMatch;
+    public List<ProjectInfo> getBackportProjectsMap(Pattern namePattern) throws Exception {
+        return getBackportProjectsMapAsync(namePattern).await().indefinitely();
     }
 
-    public List<ProjectInfo> getBackportProjectsMap(Pattern namePattern) throws Exception {
+    public Uni<List<ProjectInfo>> getBackportProjectsMapAsync(Pattern namePattern) {
         String query = """
             query ($organization: String!) {
               organization(login: $organization) {
@@ -171,11 +309,20 @@ public class GitHubService {
                      }
                    }
                  }
+              rateLimit {
+                cost
+                remaining
+                resetAt
+              }
             }
             """;
         Map<String, Object> args = Map.of("organization", organization);
-        Response response = client.executeSync(query, args);
-        Log.info("GraphQL response: " + response.getData());
+        return queryExecutor.execute("projects", query, args)
+                .map(response -> toProjectInfos(response, namePattern));
+    }
+
+    private List<ProjectInfo> toProjectInfos(Response response, Pattern namePattern) {
+        Log.debug("GraphQL response: " + response.getData());
         checkForErrors(response);
         AtomicInteger nullCounter = new AtomicInteger(0);
         JsonObject data = response.getData();
@@ -216,78 +363,169 @@ public class GitHubService {
         return result;
     }
 
+    /**
+     * Retrieves pull requests from the Status column `fixVersion` of the given backport project.
+     */
     public List<PullRequestInfo> getPullRequestsBackportedToVersion(Integer projectNumber, String fixVersion) throws Exception {
-        boolean hasNextPage = true;
-        String endCursor = null;
-        List<JsonValue> rawList = new ArrayList<>();
-        while(hasNextPage) {
-            String query = """
-                query ($organization: String!, $projectNumber: Int!) {
-                  organization(login: $organization) {
-                     projectV2(number: $projectNumber) {
-                       items(first: 100, after: %s) {
-                         nodes {
-                           STATUS:fieldValueByName(name: "Status") {
-                             ... on ProjectV2ItemFieldSingleSelectValue {
-                               FIXVERSION:name
-                             }
-                           }
-                           content {
-                             ... on PullRequest {
-                               url
-                               title
-                               number
-                               bodyText
-                             }
-                           }
+        return getPullRequestsBackportedToVersionAsync(projectNumber, fixVersion).await().indefinitely();
+    }
+
+    public Uni<List<PullRequestInfo>> getPullRequestsBackportedToVersionAsync(Integer projectNumber, String fixVersion) {
+        return streamPullRequestsBackportedToVersion(projectNumber, fixVersion)
+                .onItem().<PullRequestInfo>disjoint()
+                .collect().asList()
+                .invoke(list -> Log.info("Total pull requests found: " + list.size()));
+    }
+
+    /**
+     * Streams pull requests from the Status column `fixVersion` of the given backport project, one list per page.
+     * If `github.server-side-status-filter` is enabled, the Status filter is evaluated by GitHub, so only the items
+     * of the selected column are transferred. Either way, each page is filtered as soon as it arrives, so no more than
+     * one page of raw items is kept in memory.
+     * <p>
+     * Only the URL, title and number of the pull requests are listed. The description, labels and changed files
+     * are only needed to create a Jira, so they are fetched on demand when a pull request is imported,
+     * see {@link #getPullRequestInfosAsync(String, List)}.
+     * <p>
+     * If the listing fails (for example because GitHub is unavailable), the pull requests of the last complete
+     * listing of the column that were not streamed yet are streamed instead.
+     */
+    public Multi<List<PullRequestInfo>> streamPullRequestsBackportedToVersion(Integer projectNumber, String fixVersion) {
+        String column = projectNumber + "/" + fixVersion;
+        return Multi.createFrom().deferred(() -> {
+            AtomicInteger pages = new AtomicInteger();
+            List<PullRequestInfo> listed = Collections.synchronizedList(new ArrayList<>());
+            return Multi.createBy().repeating()
+                    .uni(() -> new AtomicReference<String>(), endCursor -> fetchBoardPage(projectNumber, fixVersion, endCursor.get())
+                            .invoke(page -> endCursor.set(page.endCursor())))
+                    .whilst(BoardPage::hasNextPage)
+                    .invoke(pages::incrementAndGet)
+                    .onCompletion().invoke(() -> boardSummary("github.board.pages", projectNumber).record(pages.get()))
+                    .map(BoardPage::pullRequests)
+                    .invoke(pullRequests -> pullRequests.forEach(pr -> listed.add(copyListed(pr))))
+                    .onCompletion().invoke(() -> lastBoardListings.put(column, List.copyOf(listed)))
+                    .onFailure().recoverWithMulti(failure -> lastBoardListingFallback(column, listed, failure));
+        });
+    }
+
+    private Multi<List<PullRequestInfo>> lastBoardListingFallback(String column, List<PullRequestInfo> listed, Throwable failure) {
+        List<PullRequestInfo> lastListing = lastBoardListings.get(column);
+        if (lastListing == null) {
+            return Multi.createFrom().failure(failure);
+        }
+        Log.warn("Listing the pull requests of " + column + " failed, using the last complete listing instead: "
+                + failure.getMessage());
+        registry.counter("github.board.fallbacks").increment();
+        Set<Integer> listedNumbers = listed.stream().map(PullRequestInfo::getNumber).collect(Collectors.toSet());
+        List<PullRequestInfo> notListed = lastListing.stream()
+                .filter(pr -> !listedNumbers.contains(pr.getNumber()))
+                .map(GitHubService::copyListed)
+                .toList();
+        return notListed.isEmpty() ? Multi.createFrom().empty() : Multi.createFrom().item(notListed);
+    }
+
+    // the listed pull requests are modified by the callers (their existing Jiras are set), so only copies are kept
+    private static PullRequestInfo copyListed(PullRequestInfo pr) {
+        PullRequestInfo copy = new PullRequestInfo();
+        copy.setUrl(pr.getUrl());
+        copy.setTitle(pr.getTitle());
+        copy.setNumber(pr.getNumber());
+        return copy;
+    }
+
+    private DistributionSummary boardSummary(String name, Integer projectNumber) {
+        return DistributionSummary.builder(name)
+                .tag("project", String.valueOf(projectNumber))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Uni<BoardPage> fetchBoardPage(Integer projectNumber, String fixVersion, String endCursor) {
+        String query = """
+            query ($organization: String!, $projectNumber: Int!, $after: String, $filter: String) {
+              organization(login: $organization) {
+                 projectV2(number: $projectNumber) {
+                   items(first: 100, after: $after, query: $filter) {
+                     nodes {
+                       STATUS:fieldValueByName(name: "Status") {
+                         ... on ProjectV2ItemFieldSingleSelectValue {
+                           FIXVERSION:name
                          }
-                         pageInfo {
-                           endCursor
-                           hasNextPage
+                       }
+                       content {
+                         ... on PullRequest {
+                           url
+                           title
+                           number
                          }
                        }
                      }
-                  }
-                }
-                """.formatted(endCursor == null ? null : "\"" + endCursor + "\"");
-            Map<String, Object> args = Map.of("organization", organization,
-                    "projectNumber", projectNumber); // unused
-            Response response = client.executeSync(query, args);
-            Log.debug("Query: " + query);
-            Log.debug("GraphQL response: " + response.getData());
-            checkForErrors(response);
-            JsonArray pullRequests = response.getData().getJsonObject("organization").getJsonObject("projectV2").getJsonObject("items").getJsonArray("nodes");
-
-            rawList.addAll(pullRequests);
-            endCursor = response.getData().getJsonObject("organization").getJsonObject("projectV2")
-                    .getJsonObject("items")
-                    .getJsonObject("pageInfo")
-                    .getString("endCursor");
-            hasNextPage = response.getData().getJsonObject("organization").getJsonObject("projectV2")
-                    .getJsonObject("items")
-                    .getJsonObject("pageInfo")
-                    .getBoolean("hasNextPage");
-        }
-        List<PullRequestInfo> finalList = new ArrayList<>();
-
-        for (JsonValue pullRequest : rawList) {
-            // get only pull requests, because the query also returns issues
-            if (pullRequest.asJsonObject().getJsonObject("content").get("url") != null) {
-                String version = pullRequest.asJsonObject().getJsonObject("STATUS").getString("FIXVERSION", null);
-                // get only pull requests targeting this fix version
-                if (fixVersion.equals(version)) {
-                    PullRequestInfo prInfo = new PullRequestInfo();
-                    prInfo.setUrl(pullRequest.asJsonObject().getJsonObject("content").getString("url"));
-                    prInfo.setTitle(pullRequest.asJsonObject().getJsonObject("content").getString("title"));
-                    prInfo.setNumber(pullRequest.asJsonObject().getJsonObject("content").getInt("number"));
-                    prInfo.setDescription(pullRequest.asJsonObject().getJsonObject("content").getString("bodyText"));
-                    Log.info("Found pull request: " + prInfo);
-                    finalList.add(prInfo);
-                }
+                     pageInfo {
+                       endCursor
+                       hasNextPage
+                     }
+                   }
+                 }
+              }
+              rateLimit {
+                cost
+                remaining
+                resetAt
+              }
+            }
+            """;
+        // the filter uses the same syntax as the filter bar in the project UI
+        String filter = serverSideStatusFilter ? "is:pr status:\"" + fixVersion + "\"" : null;
+        Map<String, Object> args = new HashMap<>();
+        args.put("organization", organization);
+        args.put("projectNumber", projectNumber);
+        args.put("after", endCursor);
+        args.put("filter", filter);
+        // the pages can be large, so they are decoded straight into records instead of a JSON tree
+        return queryExecutor.execute("projectItems", query, args,
+                        () -> graphQLClient.projectItems(new GitHubGraphQLClient.Request(query, args)),
+                        response -> GitHubQueryExecutor.summarize(response.errors(),
+                                response.data() == null ? null : response.data().rateLimit()))
+                .map(response -> {
+                    if (response.errors() != null && !response.errors().isEmpty()) {
+                        throw new RuntimeException(response.errors().toString());
+                    }
+                    GitHubGraphQLClient.Items items = response.data().organization().projectV2().items();
+                    boardSummary("github.board.page.items", projectNumber).record(items.nodes().size());
+                    return toBoardPage(items, fixVersion);
+                });
+    }
+
+    private BoardPage toBoardPage(GitHubGraphQLClient.Items items, String fixVersion) {
+        List<PullRequestInfo> pullRequests = new ArrayList<>();
+        for (GitHubGraphQLClient.Item item : items.nodes()) {
+            PullRequestInfo prInfo = boardItemToPullRequestInfo(item, fixVersion);
+            if (prInfo != null) {
+                Log.info("Found pull request: " + prInfo);
+                pullRequests.add(prInfo);
             }
         }
-        Log.info("Total pull requests found: " + finalList.size());
-        return finalList;
+        return new BoardPage(pullRequests, items.pageInfo().endCursor(), items.pageInfo().hasNextPage());
+    }
+
+    // returns null if the project item is not a pull request or it is not in the `fixVersion` column
+    static PullRequestInfo boardItemToPullRequestInfo(GitHubGraphQLClient.Item projectItem, String fixVersion) {
+        GitHubGraphQLClient.Content content = projectItem.content();
+        // get only pull requests, because the query also returns issues
+        if (content == null || content.url() == null) {
+            return null;
+        }
+        String version = projectItem.status() == null ? null : projectItem.status().fixVersion();
+        // get only pull requests targeting this fix version
+        // (even with the server-side filter, because the filter is a fuzzy match)
+        if (!fixVersion.equals(version)) {
+            return null;
+        }
+        PullRequestInfo prInfo = new PullRequestInfo();
+        prInfo.setUrl(content.url());
+        prInfo.setTitle(content.title());
+        prInfo.setNumber(content.number());
+        return prInfo;
     }
 
     private void checkForErrors(Response response) {
@@ -297,6 +535,10 @@ public class GitHubService {
         }
     }
 
+    private record BoardPage(List<PullRequestInfo> pullRequests, String endCursor, boolean hasNextPage) {
+
+    }
+
     public String getOrganization() {
         return organization;
     }
@@ -1,23 +1,35 @@
 package io.quarkus.githubtojira;
 
+import io.quarkus.githubtojira.model.ImportJob;
+import io.quarkus.githubtojira.model.ImportRequest;
+import io.quarkus.githubtojira.model.ImportingEvent;
+import io.quarkus.githubtojira.model.ImportingRow;
 import io.quarkus.githubtojira.model.JiraInfo;
 import io.quarkus.githubtojira.model.ProjectInfo;
 import io.quarkus.githubtojira.model.PullRequestInfo;
 import io.quarkus.logging.Log;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
-import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,7 +51,21 @@ public class GithubToJiraResource {
     @ConfigProperty(name = "manual.imports.repos")
     List<String> reposForManualImports;
 
-    private final Map<RepoAndPrNumber, PullRequestInfo> pullRequestCache = new HashMap<>();
+    @Inject
+    PullRequestCache pullRequestCache;
+
+    @Inject
+    JiraIndex jiraIndex;
+
+    @Inject
+    ImportJobQueue importJobQueue;
+
+    @ConfigProperty(name = "landing-page.cache-ttl")
+    Duration landingPageCacheTtl;
+
+    // data for the landing page, which only changes a few times per release
+    private StaleWhileRevalidateCache<List<ProjectInfo>> backportProjects;
+    private StaleWhileRevalidateCache<List<String>> jiraFixVersions;
 
     @CheckedTemplate
     public static class Templates {
@@ -48,64 +74,151 @@ public class GithubToJiraResource {
 
         public static native TemplateInstance importing(Integer projectNumber,
                                                         String githubFixVersion,
-                                                        List<PullRequestInfo> pullRequests,
-                                                        String jiraFixVersion);
+                                                        String jiraFixVersion,
+                                                        String repo);
+
+    }
 
+    @PostConstruct
+    void init() {
+        backportProjects = new StaleWhileRevalidateCache<>("backport projects", landingPageCacheTtl,
+                () -> gitHubService.getBackportProjectsMapAsync(projectNamePattern));
+        jiraFixVersions = new StaleWhileRevalidateCache<>("Jira fix versions", landingPageCacheTtl,
+                jiraService::findExistingFixVersionsAsync);
     }
 
+    // the GitHub and Jira queries are independent, so they run concurrently
+    // (and usually are answered from the cache anyway)
     @GET
     @Produces(MediaType.TEXT_HTML)
-    @Blocking
-    public TemplateInstance index() throws Exception {
-        return Templates.index(gitHubService.getBackportProjectsMap(projectNamePattern), jiraService.findExistingFixVersions(), reposForManualImports);
+    public Uni<TemplateInstance> index() {
+        return Uni.combine().all()
+                .unis(backportProjects.get(), jiraFixVersions.get())
+                .with((projects, jiraFixVersions) -> Templates.index(projects, jiraFixVersions, reposForManualImports));
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/pr-metadata/{prNumber}/{repo}")
-    public PullRequestInfo getPullRequestMetadata(String prNumber, String repo) {
-        PullRequestInfo pr = gitHubService.getPullRequestInfo(prNumber, repo);
-        pullRequestCache.put(new RepoAndPrNumber(repo, pr.getNumber()), pr);
-        return pr;
+    public Uni<PullRequestInfo> getPullRequestMetadata(String prNumber, String repo) {
+        return gitHubService.getPullRequestInfoAsync(prNumber, repo)
+                .invoke(pr -> pullRequestCache.put(repo, pr));
     }
 
-    @GET
-    @Produces(MediaType.TEXT_HTML)
-    @Blocking
-    @Path("/importing/{projectNumber}/{githubFixVersion}/{jiraFixVersion}")
-    public TemplateInstance importing(Integer projectNumber, String githubFixVersion, String jiraFixVersion) throws Exception {
-        List<PullRequestInfo> pullRequests = gitHubService.getPullRequestsBackportedToVersion(projectNumber, githubFixVersion);
-        if (!pullRequests.isEmpty()) {
-            List<JiraInfo> jiras = jiraService.findExistingJirasForPullRequests(
-                    pullRequests.stream().map(PullRequestInfo::getUrl).toList(),
-                    jiraService.fixVersionToJiraVersionMajorMinorWildcard(githubFixVersion));
-            for (PullRequestInfo pullRequest : pullRequests) {
-                pullRequest.setExistingJiras(new ArrayList<>());
-                jiras.stream().filter(jira -> jira.getGitPullRequestUrls().contains(pullRequest.getUrl()))
-                        .forEach(jira -> {
-                            Log.info("Linking existing jira " + jira.getUrl() + " to PR " + pullRequest.getUrl());
-                            pullRequest.getExistingJiras().add(jira);
-                        });
+    /**
+     * Loads multiple pull requests at once. The request body maps repositories to PR numbers, the repositories
+     * must be among `manual.imports.repos`. The result maps repositories to the pull requests that were found.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/pr-metadata-batch")
+    @SuppressWarnings("unchecked")
+    public Uni<Map<String, List<PullRequestInfo>>> getPullRequestMetadataBatch(Map<String, List<Integer>> prNumbersByRepo) {
+        for (String repo : prNumbersByRepo.keySet()) {
+            if (!reposForManualImports.contains(repo)) {
+                throw new BadRequestException("Pull requests can only be loaded from " + reposForManualImports + ", not from " + repo);
             }
         }
-        pullRequests.forEach(pr -> {
-            pullRequestCache.put(new RepoAndPrNumber(gitHubService.getOrganization() + "/" + gitHubService.getRepository(), pr.getNumber()), pr);
+        List<String> repos = new ArrayList<>(prNumbersByRepo.keySet());
+        List<Uni<List<PullRequestInfo>>> unis = repos.stream()
+                .map(repo -> gitHubService.getPullRequestInfosAsync(repo, prNumbersByRepo.get(repo))
+                        .invoke(prs -> prs.forEach(pr -> pullRequestCache.put(repo, pr))))
+                .toList();
+        if (unis.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        return Uni.combine().all().unis(unis).with(results -> {
+            Map<String, List<PullRequestInfo>> result = new LinkedHashMap<>();
+            for (int i = 0; i < repos.size(); i++) {
+                result.put(repos.get(i), (List<PullRequestInfo>) results.get(i));
+            }
+            return result;
         });
-        return Templates.importing(projectNumber, githubFixVersion, pullRequests, jiraFixVersion);
     }
 
+    /**
+     * The importing page, which only contains the code of the page and shows up immediately.
+     * The rows are rendered by the page as they arrive from {@link #importingEvents(Integer, String, String)}.
+     */
     @GET
-    @Path("/import/{repo}/{prNumber}/{jiraFixVersion}/{type}")
-    public String performImport(String repo, Integer prNumber, String jiraFixVersion, String type) throws Exception {
-        PullRequestInfo pr = pullRequestCache.get(new RepoAndPrNumber(repo, prNumber));
-        if (pr == null) {
-            throw new IllegalArgumentException("No PR with number " + prNumber + " found in the cache");
+    @Produces(MediaType.TEXT_HTML)
+    @Path("/importing/{projectNumber}/{githubFixVersion}/{jiraFixVersion}")
+    public TemplateInstance importing(Integer projectNumber, String githubFixVersion, String jiraFixVersion) {
+        return Templates.importing(projectNumber, githubFixVersion, jiraFixVersion,
+                gitHubService.getOrganization() + "/" + gitHubService.getRepository());
+    }
+
+    /**
+     * Streams the rows of the importing page. The rows of every page of the project board are sent as soon as
+     * the page is fetched, and sent again with their existing Jiras once those are found. The Jiras of one page
+     * are looked up while the next pages are being fetched. The stream ends with a DONE (or ERROR) event.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Path("/importing/{projectNumber}/{githubFixVersion}/{jiraFixVersion}/events")
+    public Multi<ImportingEvent> importingEvents(Integer projectNumber, String githubFixVersion, String jiraFixVersion) {
+        Multi<ImportingEvent> rows = gitHubService.streamPullRequestsBackportedToVersion(projectNumber, githubFixVersion)
+                .filter(pullRequests -> !pullRequests.isEmpty())
+                // the rows without Jiras are sent before the Jiras are linked
+                .onItem().transformToMultiAndMerge(pullRequests -> Multi.createBy().concatenating().streams(
+                        Multi.createFrom().item(() -> ImportingEvent.rows(toRows(pullRequests))),
+                        Multi.createFrom().uni(linkExistingJiras(pullRequests, githubFixVersion)
+                                .map(linked -> ImportingEvent.rows(toRows(linked))))));
+        return Multi.createBy().concatenating().streams(rows, Multi.createFrom().item(ImportingEvent::done))
+                .onFailure().recoverWithItem(e -> {
+                    Log.error("Failed to list the pull requests of project " + projectNumber, e);
+                    return ImportingEvent.error(e.getMessage());
+                });
+    }
+
+    private static List<ImportingRow> toRows(List<PullRequestInfo> pullRequests) {
+        return pullRequests.stream().map(ImportingRow::of).toList();
+    }
+
+    private Uni<List<PullRequestInfo>> linkExistingJiras(List<PullRequestInfo> pullRequests, String githubFixVersion) {
+        if (pullRequests.isEmpty()) {
+            return Uni.createFrom().item(pullRequests);
         }
-        return jiraService.createJira(pr.getUrl(), pr.getTitle(), jiraFixVersion, type, pr.getDescription(), pr.getJiraLabels());
+        List<String> prUrls = pullRequests.stream().map(PullRequestInfo::getUrl).toList();
+        String fixVersionWildcard = jiraService.fixVersionToJiraVersionMajorMinorWildcard(githubFixVersion);
+        Uni<List<JiraInfo>> jiras = jiraIndex.isReady()
+                ? Uni.createFrom().item(jiraIndex.findExistingJirasForPullRequests(prUrls, fixVersionWildcard))
+                : jiraService.findExistingJirasForPullRequestsAsync(prUrls, fixVersionWildcard);
+        return jiras.map(existingJiras -> {
+            PullRequestJiraLinker.link(pullRequests, existingJiras);
+            return pullRequests;
+        });
     }
 
-    private record RepoAndPrNumber(String repo, Integer prNumber) {
+    /**
+     * Submits import jobs, see {@link ImportJobQueue}, for one or many pull requests (a bulk import).
+     * Returns the submitted jobs, their status can then be polled using {@link #getImportJobs(List)}.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/jobs/import/{repo}/{jiraFixVersion}")
+    public List<ImportJob> submitImportJobs(String repo, String jiraFixVersion, List<ImportRequest> importRequests) {
+        return importJobQueue.submitAll(repo, importRequests, jiraFixVersion);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/jobs")
+    public List<ImportJob> getImportJobs(@QueryParam("id") List<String> ids) {
+        return ids.stream()
+                .map(importJobQueue::getJob)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/stats/pr-cache")
+    public Map<String, Object> pullRequestCacheStats() {
+        return pullRequestCache.statsAsMap();
     }
 
 }
@@ -0,0 +1,390 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.githubtojira.model.ImportJob;
+import io.quarkus.githubtojira.model.ImportRequest;
+import io.quarkus.githubtojira.model.ImportResult;
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.Startup;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Imports pull requests as jobs. Submitting a job returns immediately, the jobs are then processed by at most
+ * `import-jobs.concurrency` workers. A worker takes up to `jira.bulk-create.chunk-size` queued jobs of the same
+ * repository and fix version at once, and creates their Jiras using the bulk API. Every change of a job is recorded
+ * in an {@link ImportJournal} at `import-jobs.journal-path`, and unfinished jobs are resumed on startup.
+ * <p>
+ * There is at most one job per pull request and fix version, so submitting the same import twice returns
+ * the existing job (unless it failed, then it is retried). Failed attempts are retried up to
+ * `import-jobs.retry.max-attempts` times with exponential backoff, a failed job that is submitted again gets as many
+ * attempts again. Because a failed attempt (for example a timeout) may still have created the Jira, every attempt
+ * after a failed one looks for the Jira first, and so does the attempt after a restart that interrupted a job.
+ */
+@ApplicationScoped
+public class ImportJobQueue {
+
+    @Inject
+    PullRequestCache pullRequestCache;
+
+    @Inject
+    JiraService jiraService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "import-jobs.journal-path")
+    String journalPath;
+
+    @ConfigProperty(name = "import-jobs.concurrency")
+    int concurrency;
+
+    @ConfigProperty(name = "import-jobs.retry.max-attempts")
+    int maxAttempts;
+
+    @ConfigProperty(name = "import-jobs.retry.initial-backoff")
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "import-jobs.retry.max-backoff")
+    Duration maxBackoff;
+
+    @ConfigProperty(name = "jira.bulk-create.chunk-size")
+    int bulkCreateChunkSize;
+
+    private static final String INTERRUPTED = "The import was interrupted by a restart";
+
+    private ImportJournal journal;
+    // the journal is flushed to the disk after every change, which blocks, while jobs are mostly changed
+    // on event loop threads; a single thread keeps the changes in order
+    private final ExecutorService journalWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "import-journal-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, ImportJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<String, ImportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    private final Queue<ImportJob> queuedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    void resumeUnfinishedJobs(@Observes Startup startup) throws IOException {
+        journal = new ImportJournal(Path.of(journalPath), objectMapper);
+        List<ImportJob> jobs = journal.load();
+        journal.compact(jobs);
+        for (ImportJob job : jobs) {
+            jobsById.put(job.getId(), job);
+            jobsByKey.put(job.getKey(), job);
+            if (!job.getStatus().isFinished()) {
+                Log.info("Resuming import job " + job);
+                // jobs that were running have to start over, and may have created their Jira before the restart,
+                // the error makes the next attempt look for it (and keeps the job out of the bulk creates)
+                update(job, j -> {
+                    if (j.getStatus() == ImportJob.Status.RUNNING && j.getError() == null) {
+                        j.setError(INTERRUPTED);
+                    }
+                    j.setStatus(ImportJob.Status.QUEUED);
+                });
+                queuedJobs.add(job);
+            }
+        }
+        registry.gauge("import-jobs.queued", queuedJobs, Queue::size);
+        registry.gauge("import-jobs.running", runningJobs);
+        drain();
+    }
+
+    @PreDestroy
+    void closeJournal() throws IOException, InterruptedException {
+        journalWriter.shutdown();
+        if (!journalWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+            Log.warn("Not all the changes of import jobs were written to the journal " + journalPath);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Submits an import of a pull request. Returns the existing job if the pull request is already being imported
+     * to (or was imported to) the same fix version.
+     */
+    public ImportJob submit(String repo, Integer prNumber, String fixVersion, String type) {
+        ImportJob job = enqueue(repo, prNumber, fixVersion, type);
+        drain();
+        return job;
+    }
+
+    /**
+     * Submits the imports of multiple pull requests, see {@link #submit(String, Integer, String, String)}.
+     * The jobs are queued before any of them starts, so that they are imported in chunks.
+     */
+    public List<ImportJob> submitAll(String repo, List<ImportRequest> importRequests, String fixVersion) {
+        List<ImportJob> jobs = importRequests.stream()
+                .map(importRequest -> enqueue(repo, importRequest.getPrNumber(), fixVersion, importRequest.getType()))
+                .toList();
+        drain();
+        return jobs;
+    }
+
+    private synchronized ImportJob enqueue(String repo, Integer prNumber, String fixVersion, String type) {
+        String prUrl = "https://github.com/" + repo + "/pull/" + prNumber;
+        String key = PullRequestJiraLinker.normalizeUrl(prUrl) + " " + fixVersion;
+        ImportJob job = jobsByKey.get(key);
+        if (job != null && job.getStatus() != ImportJob.Status.FAILED) {
+            Log.info("Not submitting a duplicate import job, returning the existing one: " + job);
+            return job;
+        }
+        if (job == null) {
+            job = new ImportJob();
+            job.setId(UUID.randomUUID().toString());
+            job.setKey(key);
+            job.setRepo(repo);
+            job.setPrNumber(prNumber);
+            job.setPrUrl(prUrl);
+            job.setFixVersion(fixVersion);
+            jobsById.put(job.getId(), job);
+            jobsByKey.put(key, job);
+        }
+        // a failed job gets a new series of attempts, its error is kept so that the first one looks for the Jira
+        update(job, j -> {
+            j.setType(type);
+            j.setStatus(ImportJob.Status.QUEUED);
+            j.setAttempts(0);
+        });
+        Log.info("Submitted import job " + job);
+        queuedJobs.add(job);
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        return jobsById.get(id);
+    }
+
+    private void drain() {
+        while (!queuedJobs.isEmpty()) {
+            int running = runningJobs.get();
+            if (running >= concurrency) {
+                return;
+            }
+            if (runningJobs.compareAndSet(running, running + 1)) {
+                ImportJob next = queuedJobs.poll();
+                if (next == null) {
+                    runningJobs.decrementAndGet();
+                } else {
+                    List<ImportJob> batch = batch(next);
+                    if (batch.size() == 1) {
+                        run(next);
+                    } else {
+                        runBatch(batch);
+                    }
+                }
+            }
+        }
+    }
+
+    // the queued jobs that can be created along with `first` using the bulk API: the ones importing pull requests
+    // of the same repository to the same fix version, without a failed attempt that may have created their Jira
+    private List<ImportJob> batch(ImportJob first) {
+        List<ImportJob> batch = new ArrayList<>();
+        batch.add(first);
+        if (first.getError() != null) {
+            return batch;
+        }
+        for (ImportJob job : queuedJobs) {
+            if (batch.size() >= bulkCreateChunkSize) {
+                break;
+            }
+            if (job.getError() == null && job.getRepo().equals(first.getRepo())
+                    && job.getFixVersion().equals(first.getFixVersion())
+                    // another worker may have taken it in the meantime
+                    && queuedJobs.remove(job)) {
+                batch.add(job);
+            }
+        }
+        return batch;
+    }
+
+    private void run(ImportJob job) {
+        // a previous attempt failed, possibly after creating the Jira
+        boolean retry = job.getError() != null;
+        start(job);
+        Uni<JiraInfo> existingJira = retry ? findCreatedJira(job) : Uni.createFrom().nullItem();
+        existingJira
+                .chain(jira -> {
+                    if (jira != null) {
+                        Log.info("Jira " + jira.getUrl() + " was created by a previous attempt of " + job);
+                        return Uni.createFrom().item(ImportResult.success(job.getPrNumber(), job.getPrUrl(), jira.getUrl()));
+                    }
+                    return importPullRequest(job);
+                })
+                .subscribe().with(
+                        result -> {
+                            finish(job, result);
+                            release();
+                        },
+                        failure -> {
+                            finish(job, ImportResult.failure(job.getPrNumber(), job.getPrUrl(), failure.getMessage()));
+                            release();
+                        });
+    }
+
+    private void runBatch(List<ImportJob> jobs) {
+        jobs.forEach(this::start);
+        ImportJob first = jobs.get(0);
+        Log.info("Importing " + jobs.size() + " pull requests from " + first.getRepo() + " using the bulk API");
+        // the cache may have to fetch the pull requests from GitHub, which blocks
+        Uni.createFrom().item(() -> pullRequestCache.getAll(first.getRepo(), jobs.stream().map(ImportJob::getPrNumber).toList()))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .chain(pullRequests -> {
+                    List<ImportJob> found = new ArrayList<>();
+                    List<JiraService.NewJira> newJiras = new ArrayList<>();
+                    for (ImportJob job : jobs) {
+                        PullRequestInfo pr = pullRequests.get(job.getPrNumber());
+                        if (pr == null) {
+                            finish(job, notFound(job));
+                        } else {
+                            found.add(job);
+                            newJiras.add(new JiraService.NewJira(pr, job.getType()));
+                        }
+                    }
+                    if (newJiras.isEmpty()) {
+                        return Uni.createFrom().voidItem();
+                    }
+                    return jiraService.createJirasAsync(newJiras, first.getFixVersion())
+                            .invoke(results -> {
+                                for (int i = 0; i < found.size(); i++) {
+                                    finish(found.get(i), results.get(i));
+                                }
+                            })
+                            .replaceWithVoid();
+                })
+                .subscribe().with(
+                        ignored -> release(),
+                        failure -> {
+                            jobs.stream()
+                                    .filter(job -> job.getStatus() == ImportJob.Status.RUNNING)
+                                    .forEach(job -> finish(job, ImportResult.failure(job.getPrNumber(), job.getPrUrl(), failure.getMessage())));
+                            release();
+                        });
+    }
+
+    private Uni<ImportResult> importPullRequest(ImportJob job) {
+        // the cache may have to fetch the pull request from GitHub, which blocks
+        return Uni.createFrom().item(() -> pullRequestCache.get(job.getRepo(), job.getPrNumber()))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .chain(pr -> pr == null
+                        ? Uni.createFrom().item(notFound(job))
+                        : jiraService.createJiraAsync(new JiraService.NewJira(pr, job.getType()), job.getFixVersion()));
+    }
+
+    private static ImportResult notFound(ImportJob job) {
+        return ImportResult.failure(job.getPrNumber(), job.getPrUrl(),
+                "PR with number " + job.getPrNumber() + " could not be found in " + job.getRepo());
+    }
+
+    private Uni<JiraInfo> findCreatedJira(ImportJob job) {
+        return jiraService.findExistingJirasForPullRequestsAsync(List.of(job.getPrUrl()), job.getFixVersion())
+                .map(jiras -> jiras.stream()
+                        .filter(jira -> jira.getFixVersions().contains(job.getFixVersion()))
+                        .findFirst()
+                        .orElse(null));
+    }
+
+    private void start(ImportJob job) {
+        update(job, j -> {
+            j.setStatus(ImportJob.Status.RUNNING);
+            j.setAttempts(j.getAttempts() + 1);
+        });
+    }
+
+    private void finish(ImportJob job, ImportResult result) {
+        if (result.getJiraUrl() != null) {
+            update(job, j -> {
+                j.setStatus(ImportJob.Status.SUCCEEDED);
+                j.setJiraUrl(result.getJiraUrl());
+                j.setTransitionError(result.getTransitionError());
+                j.setError(null);
+            });
+            Log.info("Import job finished: " + job);
+        } else if (job.getAttempts() < maxAttempts) {
+            Duration backoff = backoff(job.getAttempts());
+            update(job, j -> {
+                j.setStatus(ImportJob.Status.QUEUED);
+                j.setError(result.getError());
+            });
+            Log.warn("Import job failed, retrying in " + backoff + ": " + job);
+            registry.counter("import-jobs.retries").increment();
+            Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(backoff)
+                    .subscribe().with(ignored -> {
+                        queuedJobs.add(job);
+                        drain();
+                    });
+        } else {
+            update(job, j -> {
+                j.setStatus(ImportJob.Status.FAILED);
+                j.setError(result.getError());
+            });
+            Log.error("Import job failed after " + job.getAttempts() + " attempts: " + job);
+        }
+    }
+
+    // called once a worker is done with its job (or batch of jobs)
+    private void release() {
+        runningJobs.decrementAndGet();
+        drain();
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    // changes the job and records its new state in the journal, without waiting for the journal to be written
+    private void update(ImportJob job, Consumer<ImportJob> change) {
+        String line;
+        synchronized (job) {
+            change.accept(job);
+            try {
+                line = journal.toLine(job);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize the import job " + job, e);
+            }
+        }
+        journalWriter.execute(() -> {
+            try {
+                journal.append(line);
+            } catch (IOException e) {
+                Log.error("Failed to write to the import journal " + journalPath + ": " + line, e);
+            }
+        });
+    }
+}
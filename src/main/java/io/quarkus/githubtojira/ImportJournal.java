@@ -0,0 +1,127 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.githubtojira.model.ImportJob;
+import io.quarkus.logging.Log;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only journal of import jobs, with one JSON object per line. Every change of a job appends the new state
+ * of the job, so the last line of a job describes its current state. Each append is flushed to the disk
+ * before it returns.
+ */
+public class ImportJournal implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    private FileChannel channel;
+
+    public ImportJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the current state of all jobs, in the order in which they were first written.
+     * Lines that can't be read (for example a line that was only partially written before a crash) are skipped.
+     */
+    public synchronized List<ImportJob> load() throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        Map<String, ImportJob> jobs = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ImportJob job = objectMapper.readValue(line, ImportJob.class);
+                    jobs.put(job.getId(), job);
+                } catch (JsonProcessingException e) {
+                    Log.warn("Skipping line " + lineNumber + " of the import journal " + path + ": " + e.getOriginalMessage());
+                }
+            }
+        }
+        return new ArrayList<>(jobs.values());
+    }
+
+    public void append(ImportJob job) throws IOException {
+        append(toLine(job));
+    }
+
+    /**
+     * The line that records the current state of a job, see {@link #append(String)}.
+     */
+    public String toLine(ImportJob job) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(job);
+    }
+
+    /**
+     * Appends a line returned by {@link #toLine(ImportJob)}. Blocks until the line is flushed to the disk.
+     */
+    public synchronized void append(String jobLine) throws IOException {
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer line = ByteBuffer.wrap((jobLine + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Replaces the content of the journal with one line per job. The new content is written to a temporary file
+     * that then atomically replaces the journal, so a crash leaves either the old or the new journal behind.
+     */
+    public synchronized void compact(Collection<ImportJob> jobs) throws IOException {
+        close();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel temporaryChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ImportJob job : jobs) {
+                ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(job) + "\n").getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) {
+                    temporaryChannel.write(line);
+                }
+            }
+            temporaryChannel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client for the few endpoints of the Jira REST API (version 2) that the app uses.
+ * It is configured by the `quarkus.rest-client.jira.*` properties, see application.properties.
+ * Only the fields that the app reads are mapped, the rest of the responses is ignored.
+ */
+@RegisterRestClient(configKey = "jira")
+@Path("/rest/api/2")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface JiraClient {
+
+    @GET
+    @Path("/project/{key}")
+    Uni<Project> getProject(@PathParam("key") String key);
+
+    // the enhanced JQL search, which pages using a token
+    @POST
+    @Path("/search/jql")
+    Uni<SearchResult> search(SearchRequest request);
+
+    @POST
+    @Path("/issue")
+    Uni<BasicIssue> createIssue(IssueInput input);
+
+    @POST
+    @Path("/issue/bulk")
+    Uni<BulkCreateResult> createIssues(BulkCreateRequest request);
+
+    @POST
+    @Path("/issue/{issueIdOrKey}/transitions")
+    Uni<Void> transition(@PathParam("issueIdOrKey") String issueIdOrKey, TransitionRequest request);
+
+    record Project(String key, List<Version> versions) {
+
+    }
+
+    record Version(String name) {
+
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record SearchRequest(String jql, int maxResults, String nextPageToken, Set<String> fields) {
+
+    }
+
+    record SearchResult(List<Issue> issues, String nextPageToken) {
+
+    }
+
+    // `fields` only contains the requested fields, custom fields are keyed by their ID
+    record Issue(String key, Map<String, JsonNode> fields) {
+
+        public String stringField(String fieldId) {
+            JsonNode value = fields.get(fieldId);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+
+        public List<String> fixVersionNames() {
+            List<String> names = new ArrayList<>();
+            JsonNode fixVersions = fields.get("fixVersions");
+            if (fixVersions != null) {
+                fixVersions.forEach(version -> names.add(version.path("name").asText()));
+            }
+            return names;
+        }
+    }
+
+    // `fields` is keyed by the field name (or the ID of a custom field)
+    record IssueInput(Map<String, Object> fields) {
+
+    }
+
+    record BulkCreateRequest(List<IssueInput> issueUpdates) {
+
+    }
+
+    record BasicIssue(String id, String key, String self) {
+
+    }
+
+    // the created issues are in the order of the successful elements of the request,
+    // `failedElementNumber` of an error is the position of the failed element in the request
+    record BulkCreateResult(List<BasicIssue> issues, List<BulkOperationError> errors) {
+
+    }
+
+    record BulkOperationError(int failedElementNumber, ErrorCollection elementErrors) {
+
+    }
+
+    record ErrorCollection(List<String> errorMessages, Map<String, String> errors) {
+
+    }
+
+    record TransitionRequest(Transition transition) {
+
+    }
+
+    record Transition(String id) {
+
+    }
+}
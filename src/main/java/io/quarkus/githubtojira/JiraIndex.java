@@ -0,0 +1,143 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of the Jiras of `jira.project` that reference pull requests, keyed by the normalized
+ * pull request URL (see {@link PullRequestJiraLinker#normalizeUrl(String)}).
+ * The index is bootstrapped with a full search on startup, then kept current with searches for issues
+ * updated since the previous synchronization (every `jira.index.sync-interval`). Jiras created by this app
+ * are added immediately. The updated issues replace their previous version, so an issue whose pull request field
+ * was changed is indexed under its new pull requests, and one whose field was cleared is dropped.
+ * Issues that are deleted in Jira are only dropped from the index after a restart.
+ * If the index hasn't been synchronized for `jira.index.max-staleness` (for example because Jira is down),
+ * it isn't used until the next successful synchronization.
+ */
+@ApplicationScoped
+public class JiraIndex {
+
+    @Inject
+    JiraService jiraService;
+
+    @ConfigProperty(name = "jira.index.enabled")
+    boolean enabled;
+
+    // how far back the delta queries look in addition to the time since the last sync, to account for clock skew
+    @ConfigProperty(name = "jira.index.sync-overlap")
+    Duration syncOverlap;
+
+    @ConfigProperty(name = "jira.index.max-staleness")
+    Duration maxStaleness;
+
+    // guarded by this
+    private final Map<String, JiraInfo> jirasByKey = new HashMap<>();
+    // guarded by this
+    private final Map<String, List<JiraInfo>> jirasByPullRequestUrl = new HashMap<>();
+
+    private volatile long lastSyncNanos;
+    private volatile boolean ready;
+
+    @Scheduled(every = "${jira.index.sync-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void synchronize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long syncStart = System.nanoTime();
+            List<JiraInfo> jiras;
+            if (!ready) {
+                jiras = jiraService.findJirasWithPullRequests();
+            } else {
+                // relative dates avoid having to know the time zone that Jira uses for the current user;
+                // the issues without pull requests are needed too, their field may have been cleared
+                long minutes = Duration.ofNanos(syncStart - lastSyncNanos).plus(syncOverlap).toMinutes() + 1;
+                jiras = jiraService.findJiras("updated >= -" + minutes + "m");
+            }
+            jiras.forEach(this::add);
+            lastSyncNanos = syncStart;
+            if (!ready) {
+                ready = true;
+                Log.info("Jira index bootstrapped with " + jiras.size() + " issues");
+            } else {
+                Log.debug("Jira index updated with " + jiras.size() + " issues");
+            }
+        } catch (Exception e) {
+            Log.error("Failed to synchronize the Jira index", e);
+        }
+    }
+
+    /**
+     * Whether the index has been bootstrapped, was synchronized recently and can be used instead of searching in Jira.
+     */
+    public boolean isReady() {
+        return enabled && ready && System.nanoTime() - lastSyncNanos <= maxStaleness.toNanos();
+    }
+
+    /**
+     * Adds a Jira to the index, replacing a previously indexed version of the same issue.
+     * A Jira that doesn't reference any pull request is removed from the index.
+     */
+    public synchronized void add(JiraInfo jira) {
+        Set<String> urls = normalizedUrls(jira);
+        JiraInfo previous = urls.isEmpty() ? jirasByKey.remove(jira.getKey()) : jirasByKey.put(jira.getKey(), jira);
+        if (previous != null) {
+            for (String url : normalizedUrls(previous)) {
+                List<JiraInfo> jiras = new ArrayList<>(jirasByPullRequestUrl.getOrDefault(url, List.of()));
+                jiras.removeIf(j -> j.getKey().equals(jira.getKey()));
+                if (jiras.isEmpty()) {
+                    jirasByPullRequestUrl.remove(url);
+                } else {
+                    jirasByPullRequestUrl.put(url, List.copyOf(jiras));
+                }
+            }
+        }
+        for (String url : urls) {
+            List<JiraInfo> jiras = new ArrayList<>(jirasByPullRequestUrl.getOrDefault(url, List.of()));
+            jiras.add(jira);
+            jirasByPullRequestUrl.put(url, List.copyOf(jiras));
+        }
+    }
+
+    /**
+     * Equivalent of {@link JiraService#findExistingJirasForPullRequests(List, String)} that is answered from the index.
+     * `fixVersionWildcard` is a wildcard like `3.27.*`.
+     */
+    public synchronized List<JiraInfo> findExistingJirasForPullRequests(List<String> prUrls, String fixVersionWildcard) {
+        String fixVersionPrefix = fixVersionWildcard.endsWith("*")
+                ? fixVersionWildcard.substring(0, fixVersionWildcard.length() - 1)
+                : fixVersionWildcard;
+        Map<String, JiraInfo> result = new LinkedHashMap<>();
+        for (String url : prUrls) {
+            for (JiraInfo jira : jirasByPullRequestUrl.getOrDefault(PullRequestJiraLinker.normalizeUrl(url), List.of())) {
+                if (jira.getFixVersions().stream().anyMatch(version -> version.startsWith(fixVersionPrefix))) {
+                    result.put(jira.getKey(), jira);
+                }
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private static Set<String> normalizedUrls(JiraInfo jira) {
+        Set<String> urls = new HashSet<>();
+        for (String url : jira.getGitPullRequestUrls()) {
+            if (!url.isEmpty()) {
+                urls.add(PullRequestJiraLinker.normalizeUrl(url));
+            }
+        }
+        return urls;
+    }
+}
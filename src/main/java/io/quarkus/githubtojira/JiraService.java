@@ -1,49 +1,67 @@
 package io.quarkus.githubtojira;
 
-import com.atlassian.jira.rest.client.api.JiraRestClient;
-import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
-import com.atlassian.jira.rest.client.api.domain.BasicIssue;
-import com.atlassian.jira.rest.client.api.domain.Issue;
-import com.atlassian.jira.rest.client.api.domain.SearchResult;
-import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
-import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
-import com.atlassian.jira.rest.client.api.domain.input.TransitionInput;
-import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClient;
-import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
-import io.atlassian.fugue.Iterables;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.githubtojira.JiraClient.BasicIssue;
+import io.quarkus.githubtojira.JiraClient.BulkCreateRequest;
+import io.quarkus.githubtojira.JiraClient.BulkCreateResult;
+import io.quarkus.githubtojira.JiraClient.BulkOperationError;
+import io.quarkus.githubtojira.JiraClient.Issue;
+import io.quarkus.githubtojira.JiraClient.IssueInput;
+import io.quarkus.githubtojira.JiraClient.SearchRequest;
+import io.quarkus.githubtojira.JiraClient.SearchResult;
+import io.quarkus.githubtojira.JiraClient.Transition;
+import io.quarkus.githubtojira.JiraClient.TransitionRequest;
+import io.quarkus.githubtojira.JiraClient.Version;
+import io.quarkus.githubtojira.model.ImportResult;
 import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
 import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.codehaus.jettison.json.JSONArray;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
 
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @ApplicationScoped
 public class JiraService {
 
-    private JiraRestClient client;
+    @Inject
+    @RestClient
+    JiraClient client;
+
+    @Inject
+    JiraIndex jiraIndex;
+
+    @Inject
+    MeterRegistry registry;
 
     @ConfigProperty(name = "jira.server")
     String jiraServer;
 
-    @ConfigProperty(name = "imports.jira.token")
-    String jiraToken;
-
     @ConfigProperty(name = "jira.project")
     String jiraProject;
 
@@ -71,55 +89,306 @@ public class JiraService {
     @ConfigProperty(name = "jira.transition-to-state")
     Integer transitionToState;
 
+    @ConfigProperty(name = "jira.bulk-create.chunk-size")
+    Integer bulkCreateChunkSize;
+
+    @ConfigProperty(name = "jira.bulk-create.concurrency")
+    Integer bulkCreateConcurrency;
+
+    @ConfigProperty(name = "jira.transition.concurrency")
+    Integer transitionConcurrency;
+
     final Pattern fixVersionPattern = Pattern.compile("(\\d+\\.\\d+)\\.\\d+\\.GA");
 
+    @ConfigProperty(name = "jira.search.max-jql-length")
+    Integer maxJqlLength;
+
+    @ConfigProperty(name = "jira.search.concurrency")
+    Integer searchConcurrency;
+
+    @ConfigProperty(name = "jira.max-concurrent-requests")
+    int maxConcurrentRequests;
+
+    @ConfigProperty(name = "jira.max-waiting-requests")
+    int maxWaitingRequests;
+
+    @ConfigProperty(name = "jira.circuit-breaker.failure-threshold")
+    int circuitBreakerFailureThreshold;
+
+    @ConfigProperty(name = "jira.circuit-breaker.open-duration")
+    Duration circuitBreakerOpenDuration;
+
+    @ConfigProperty(name = "jira.write-rate-limit.rate")
+    double writeRate;
+
+    @ConfigProperty(name = "jira.write-rate-limit.burst")
+    int writeBurst;
+
+    @ConfigProperty(name = "jira.write-rate-limit.max-retries")
+    int maxWriteRetries;
+
+    @ConfigProperty(name = "jira.write-rate-limit.default-retry-after")
+    Duration defaultRetryAfter;
+
+    private Set<String> searchFields;
+
+    // identical searches running at the same time (e.g. several people opening the same importing page)
+    // share one request to Jira
+    private SingleFlight<SearchRequest, SearchResult> searches;
+
+    private Bulkhead bulkhead;
+    private CircuitBreaker circuitBreaker;
+    // spaces out the requests that create or change issues, see #write
+    private TokenBucket writeTokens;
+
     @PostConstruct
-    public void init() throws URISyntaxException {
-        client = new AsynchronousJiraRestClientFactory().create(new URI(jiraServer),
-                builder -> builder.setHeader("Authorization", "Basic " + jiraToken));
+    public void init() {
+        // only request the fields that we read
+        searchFields = Set.of("fixVersions", pullRequestFieldId);
+        searches = new SingleFlight<>(request -> registry.counter("jira.requests.coalesced", "operation", "search").increment());
+        bulkhead = new Bulkhead("Jira", maxConcurrentRequests, maxWaitingRequests);
+        circuitBreaker = new CircuitBreaker("Jira", circuitBreakerFailureThreshold, circuitBreakerOpenDuration,
+                JiraService::isJiraFailure);
+        writeTokens = new TokenBucket(writeRate, writeBurst);
+        registry.gauge("jira.requests.waiting", bulkhead, Bulkhead::waiting);
+        registry.gauge("jira.writes.waiting", writeTokens, TokenBucket::waiting);
+        registry.gauge("circuit.breaker.open", Tags.of("upstream", "jira"), circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0);
     }
 
-    public List<String> findExistingFixVersions() throws ExecutionException, InterruptedException {
-        List<String> fixVersions = StreamSupport.stream(client.getProjectClient().getProject(jiraProject).get().getVersions().spliterator(), false)
-                .map(version -> version.getName())
-                .filter(version -> fixVersionPattern.matcher(version).matches())
-                .sorted((o1, o2) -> -o1.compareTo(o2))
-                .toList();
-        return fixVersions;
+    public List<String> findExistingFixVersions() throws Exception {
+        return findExistingFixVersionsAsync().await().indefinitely();
+    }
+
+    public Uni<List<String>> findExistingFixVersionsAsync() {
+        return send("getProject", () -> client.getProject(jiraProject)
+                        .ifNoItem().after(timeout).failWith(() -> new TimeoutException("Jira did not return the project in time")))
+                .map(project -> project.versions().stream()
+                        .map(Version::name)
+                        .filter(version -> fixVersionPattern.matcher(version).matches())
+                        .sorted((o1, o2) -> -o1.compareTo(o2))
+                        .toList());
     }
 
     public List<JiraInfo> findExistingJirasForPullRequests(List<String> prUrls, String fixVersion) throws Exception {
-        // construct a query that looks like:
-        // project = QUARKUS and fixVersion ~ "2.13*" and ("Git Pull Request" ~ "url1" or "Git Pull Request" ~ "url2" or ...)
-        // (the 'Git Pull Request' field does not support the IN operator...)
-        String prUrlsClause = "(" + prUrls.stream().map(url -> "\"Git Pull Request\" ~ \"" + url + "\"").collect(Collectors.joining(" or ")) + ")";
-        String query = "project = " + jiraProject + " " +
-                "and fixVersion ~ \"" + fixVersion + "\" " +
-                "and " + prUrlsClause;
-        Log.info("Jira query to find existing issues: " + query);
-        boolean hasNextPage = true;
-        String nextPageToken = null;
+        return findExistingJirasForPullRequestsAsync(prUrls, fixVersion).await().indefinitely();
+    }
+
+    /**
+     * Finds Jiras that reference any of the given pull requests.
+     * The lookup is split into multiple JQL queries, each at most `jira.search.max-jql-length` characters long.
+     * At most `jira.search.concurrency` queries run at the same time, and each request has to finish within `timeout`.
+     */
+    public Uni<List<JiraInfo>> findExistingJirasForPullRequestsAsync(List<String> prUrls, String fixVersion) {
+        List<String> queries = buildExistingJirasQueries(jiraProject, prUrls, fixVersion, maxJqlLength);
+        return Multi.createFrom().iterable(queries)
+                .onItem().transformToUni(query -> {
+                    Log.info("Jira query to find existing issues: " + query);
+                    return searchAllPages(query, null, new ArrayList<>());
+                }).merge(searchConcurrency)
+                .collect().asList()
+                .map(resultsPerQuery -> {
+                    // a Jira referencing multiple PRs can be found by multiple queries, so deduplicate by key
+                    Map<String, JiraInfo> result = new LinkedHashMap<>();
+                    resultsPerQuery.forEach(jiras -> jiras.forEach(jira -> result.putIfAbsent(jira.getKey(), jira)));
+                    return new ArrayList<>(result.values());
+                });
+    }
+
+    private Uni<List<JiraInfo>> searchAllPages(String query, String nextPageToken, List<JiraInfo> result) {
+        return search(query, nextPageToken)
+                .chain(searchResult -> {
+                    result.addAll(toJiraInfos(searchResult));
+                    return searchResult.nextPageToken() == null
+                            ? Uni.createFrom().item(result)
+                            : searchAllPages(query, searchResult.nextPageToken(), result);
+                });
+    }
+
+    /**
+     * Finds all Jiras of the configured project that reference a pull request. Used to build the {@link JiraIndex}.
+     */
+    public List<JiraInfo> findJirasWithPullRequests() throws Exception {
+        return findJiras("\"Git Pull Request\" is not EMPTY");
+    }
+
+    /**
+     * Finds all Jiras of the configured project that match the JQL `condition`, including the ones that don't
+     * reference a pull request (their list of pull request URLs is empty). Used to update the {@link JiraIndex}.
+     */
+    public List<JiraInfo> findJiras(String condition) throws Exception {
+        String query = "project = " + jiraProject + " and " + condition;
+        Log.debug("Jira query to find issues: " + query);
         List<JiraInfo> result = new ArrayList<>();
-        while (hasNextPage) {
-            SearchResult searchResult;
-            searchResult = client.getSearchClient()
-                    .enhancedSearchJql(query, 1000, nextPageToken, Set.of("*all"), null)
-                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
-            for (Issue issue : searchResult.getIssues()) {
-                JiraInfo jiraInfo = new JiraInfo();
-                jiraInfo.setKey(issue.getKey());
-                jiraInfo.setUrl(jiraServer + "/browse/" + issue.getKey());
-                String pullRequestUrls = (String) issue.getField(pullRequestFieldId).getValue();
-                List<String> pullRequestUrlsList = Arrays.stream(pullRequestUrls.split("[\r\n,]")).map(String::trim).toList();
-                jiraInfo.setGitPullRequestUrls(pullRequestUrlsList);
-                result.add(jiraInfo);
+        String nextPageToken = null;
+        do {
+            // every request has its own timeout
+            SearchResult searchResult = search(query, nextPageToken).await().indefinitely();
+            result.addAll(toJiraInfos(searchResult));
+            nextPageToken = searchResult.nextPageToken();
+        } while (nextPageToken != null);
+        return result;
+    }
+
+    // construct queries that look like:
+    // project = QUARKUS and fixVersion ~ "2.13*" and ("Git Pull Request" ~ "url1" or "Git Pull Request" ~ "url2" or ...)
+    // (the 'Git Pull Request' field does not support the IN operator...)
+    // each query is at most maxLength characters long (unless a single URL doesn't fit on its own)
+    static List<String> buildExistingJirasQueries(String project, List<String> prUrls, String fixVersion, int maxLength) {
+        String prefix = "project = " + project + " " +
+                "and fixVersion ~ \"" + fixVersion + "\" " +
+                "and (";
+        List<String> queries = new ArrayList<>();
+        StringBuilder query = new StringBuilder(prefix);
+        boolean empty = true;
+        for (String url : prUrls) {
+            String clause = "\"Git Pull Request\" ~ \"" + url + "\"";
+            int separatorLength = empty ? 0 : " or ".length();
+            if (!empty && query.length() + separatorLength + clause.length() + 1 > maxLength) {
+                queries.add(query.append(")").toString());
+                query = new StringBuilder(prefix);
+                empty = true;
+                separatorLength = 0;
+            }
+            if (separatorLength > 0) {
+                query.append(" or ");
             }
-            nextPageToken = searchResult.getNextPageToken();
-            hasNextPage = nextPageToken != null;
+            query.append(clause);
+            empty = false;
+        }
+        if (!empty) {
+            queries.add(query.append(")").toString());
+        }
+        return queries;
+    }
+
+    private Uni<SearchResult> search(String query, String nextPageToken) {
+        SearchRequest request = new SearchRequest(query, 1000, nextPageToken, searchFields);
+        return searches.execute(request, () -> send("search", () -> client.search(request)
+                .ifNoItem().after(timeout).failWith(() -> new TimeoutException("Jira did not answer the search in time"))));
+    }
+
+    private List<JiraInfo> toJiraInfos(SearchResult searchResult) {
+        List<JiraInfo> result = new ArrayList<>();
+        for (Issue issue : searchResult.issues()) {
+            JiraInfo jiraInfo = new JiraInfo();
+            jiraInfo.setKey(issue.key());
+            jiraInfo.setUrl(jiraServer + "/browse/" + issue.key());
+            String pullRequestUrls = issue.stringField(pullRequestFieldId);
+            List<String> pullRequestUrlsList = pullRequestUrls == null
+                    ? List.of()
+                    : Arrays.stream(pullRequestUrls.split("[\r\n,]")).map(String::trim).toList();
+            jiraInfo.setGitPullRequestUrls(pullRequestUrlsList);
+            jiraInfo.setFixVersions(issue.fixVersionNames());
+            result.add(jiraInfo);
         }
         return result;
     }
 
+    /**
+     * Sends a request to Jira through the circuit breaker (see `jira.circuit-breaker.*`) and the bulkhead
+     * (see `jira.max-concurrent-requests`). The request has to apply its own timeout: a timeout applied to the
+     * returned Uni would cancel the request instead of failing it, and the breaker ignores cancellations.
+     */
+    private <T> Uni<T> send(String operation, Supplier<Uni<T>> request) {
+        return circuitBreaker.call(() -> bulkhead.run(() -> timed(operation, request.get())));
+    }
+
+    // only server errors and missing responses mean that Jira is failing, a rejected request (for example an invalid
+    // issue) doesn't, and neither does throttling (throttled writes are retried later, see #write)
+    static boolean isJiraFailure(Throwable failure) {
+        if (failure instanceof WebApplicationException e) {
+            return e.getResponse().getStatus() >= 500;
+        }
+        return !(failure instanceof Bulkhead.BulkheadFullException);
+    }
+
+    /**
+     * Sends a request that creates or changes issues. The writes are spaced out by a token bucket
+     * (see `jira.write-rate-limit.*`). If Jira throttles a write anyway (429), all writes are paused for the time
+     * that Jira asks for, and the write is sent again (at most `jira.write-rate-limit.max-retries` times).
+     * Each attempt has to finish within its own timeout, the time spent waiting for the bucket doesn't count.
+     */
+    private <T> Uni<T> write(String operation, Supplier<Uni<T>> request) {
+        return write(operation, request, 0);
+    }
+
+    private <T> Uni<T> write(String operation, Supplier<Uni<T>> request, int retries) {
+        return writeTokens.acquire()
+                .invoke(waited -> Timer.builder("jira.writes.throttle")
+                        .tag("operation", operation)
+                        .register(registry)
+                        .record(waited))
+                .chain(() -> send(operation, request))
+                .onFailure(failure -> isThrottled(failure) && retries < maxWriteRetries).recoverWithUni(failure -> {
+                    Response response = ((WebApplicationException) failure).getResponse();
+                    Duration retryAfter = retryAfter(response.getHeaderString("Retry-After"),
+                            response.getHeaderString("X-RateLimit-Reset"), defaultRetryAfter);
+                    Log.warn("Jira throttled " + operation + ", pausing the writes for " + retryAfter);
+                    registry.counter("jira.writes.throttled", "operation", operation).increment();
+                    writeTokens.pauseFor(retryAfter);
+                    return write(operation, request, retries + 1);
+                });
+    }
+
+    private static boolean isThrottled(Throwable failure) {
+        return failure instanceof WebApplicationException e && e.getResponse().getStatus() == 429;
+    }
+
+    // Jira sends the number of seconds to wait in Retry-After (which may also be an HTTP date),
+    // Jira Cloud also sends the time when the limit resets in X-RateLimit-Reset
+    static Duration retryAfter(String retryAfter, String rateLimitReset, Duration defaultRetryAfter) {
+        if (retryAfter != null && !retryAfter.isBlank()) {
+            try {
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException e) {
+                try {
+                    return fromNow(ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                } catch (DateTimeParseException ignored) {
+                    Log.debug("Unexpected Retry-After header: " + retryAfter);
+                }
+            }
+        }
+        if (rateLimitReset != null && !rateLimitReset.isBlank()) {
+            try {
+                return fromNow(OffsetDateTime.parse(rateLimitReset.trim()).toInstant());
+            } catch (DateTimeParseException e) {
+                Log.debug("Unexpected X-RateLimit-Reset header: " + rateLimitReset);
+            }
+        }
+        return defaultRetryAfter;
+    }
+
+    private static Duration fromNow(Instant instant) {
+        Duration duration = Duration.between(Instant.now(), instant);
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    /**
+     * Records the duration of a request to Jira in the `jira.requests` timer,
+     * tagged by operation, outcome (`success` or `failure`) and project.
+     */
+    private <T> Uni<T> timed(String operation, Uni<T> request) {
+        return Uni.createFrom().deferred(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return request
+                    .invoke(result -> sample.stop(requestTimer(operation, "success")))
+                    .onFailure().invoke(failure -> sample.stop(requestTimer(operation, "failure")));
+        });
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder("jira.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("project", jiraProject)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void countImport(String mode, boolean success) {
+        registry.counter("jira.imports", "mode", mode, "outcome", success ? "success" : "failure").increment();
+    }
+
     // Convert a Quarkus version to a value of the fixVersion field in Jira
     public String fixVersionToJiraVersion(String fixVersion) {
         // hopefully this will be enough for the time being
@@ -140,16 +409,153 @@ public class JiraService {
         }
     }
 
-    @PreDestroy
-    public void cleanup() {
+    /**
+     * Creates a Jira for one pull request and transitions it to `jira.transition-to-state`.
+     * Each of the two requests has to finish within `timeout`. The returned Uni doesn't fail,
+     * a failed creation or transition is reported in the result.
+     */
+    public Uni<ImportResult> createJiraAsync(NewJira newJira, String fixVersion) {
+        PullRequestInfo pr = newJira.pullRequest();
+        IssueInput input;
         try {
-            client.close();
-        } catch (Exception e) {
-            // Ignore
+            input = buildIssueInput(pr.getUrl(), pr.getTitle(), fixVersion, newJira.type(), pr.getDescription(), pr.getJiraLabels());
+        } catch (IllegalArgumentException e) {
+            countImport("single", false);
+            return Uni.createFrom().item(ImportResult.failure(pr.getNumber(), pr.getUrl(), e.getMessage()));
         }
+        Log.debug("Issue input: " + input);
+        return write("createIssue", () -> client.createIssue(input)
+                        .ifNoItem().after(timeout).failWith(() -> new TimeoutException("Jira did not create the issue in time")))
+                .invoke(issue -> countImport("single", true))
+                .onFailure().invoke(e -> {
+                    Log.error("Failed to create a Jira for PR " + pr.getUrl(), e);
+                    countImport("single", false);
+                })
+                .chain(issue -> onCreated(pr, issue, fixVersion))
+                .onFailure().recoverWithItem(e -> ImportResult.failure(pr.getNumber(), pr.getUrl(), e.getMessage()));
     }
 
-    public String createJira(String prUrl, String prTitle, String fixVersion, String type, String description, Iterable<String> jiraLabels) throws Exception {
+    /**
+     * Creates Jiras for multiple pull requests at once using Jira's bulk create API.
+     * The issues are sent in chunks of `jira.bulk-create.chunk-size`, with at most
+     * `jira.bulk-create.concurrency` chunks being in flight at the same time.
+     * The issues of a chunk are transitioned as soon as the chunk is created, while the next chunks are still
+     * being created, with at most `jira.transition.concurrency` transitions in flight at the same time.
+     * Returns one result per pull request, in the same order as the input.
+     */
+    public Uni<List<ImportResult>> createJirasAsync(List<NewJira> newJiras, String fixVersion) {
+        ImportResult[] results = new ImportResult[newJiras.size()];
+        List<IssueInput> inputs = new ArrayList<>(newJiras.size());
+        for (int i = 0; i < newJiras.size(); i++) {
+            PullRequestInfo pr = newJiras.get(i).pullRequest();
+            try {
+                inputs.add(buildIssueInput(pr.getUrl(), pr.getTitle(), fixVersion, newJiras.get(i).type(),
+                        pr.getDescription(), pr.getJiraLabels()));
+            } catch (IllegalArgumentException e) {
+                results[i] = ImportResult.failure(pr.getNumber(), pr.getUrl(), e.getMessage());
+                inputs.add(null);
+            }
+        }
+
+        // indexes (into newJiras) of the issues that should be created, split into chunks
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> currentChunk = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            if (inputs.get(i) == null) {
+                continue;
+            }
+            currentChunk.add(i);
+            if (currentChunk.size() == bulkCreateChunkSize) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+            }
+        }
+        if (!currentChunk.isEmpty()) {
+            chunks.add(currentChunk);
+        }
+
+        return Multi.createFrom().iterable(chunks)
+                .onItem().transformToUni(chunk -> createChunk(newJiras, inputs, chunk, results)).merge(bulkCreateConcurrency)
+                .onItem().<CreatedIssue>disjoint()
+                .onItem().transformToUni(created -> onCreated(newJiras.get(created.index()).pullRequest(), created.issue(), fixVersion)
+                        .invoke(result -> results[created.index()] = result))
+                .merge(transitionConcurrency)
+                .collect().asList()
+                .map(ignored -> {
+                    List<ImportResult> resultList = Arrays.asList(results);
+                    resultList.forEach(result -> countImport("bulk", result.getError() == null));
+                    return resultList;
+                });
+    }
+
+    // creates the issues of one chunk and returns them, the failures are recorded in `results`
+    private Uni<List<CreatedIssue>> createChunk(List<NewJira> newJiras, List<IssueInput> inputs, List<Integer> chunk,
+                                                ImportResult[] results) {
+        Log.info("Creating a chunk of " + chunk.size() + " issues using the bulk API");
+        BulkCreateRequest request = new BulkCreateRequest(chunk.stream().map(inputs::get).toList());
+        return write("bulkCreate", () -> client.createIssues(request)
+                        .ifNoItem().after(timeout).failWith(() -> new TimeoutException("Jira did not create the issues in time")))
+                .map(bulkResult -> processBulkResult(newJiras, chunk, bulkResult, results))
+                .onFailure().recoverWithItem(e -> {
+                    Log.error("Bulk creation of a chunk of " + chunk.size() + " issues failed", e);
+                    for (Integer index : chunk) {
+                        PullRequestInfo pr = newJiras.get(index).pullRequest();
+                        results[index] = ImportResult.failure(pr.getNumber(), pr.getUrl(), e.getMessage());
+                    }
+                    return List.of();
+                });
+    }
+
+    private List<CreatedIssue> processBulkResult(List<NewJira> newJiras, List<Integer> chunk,
+                                                 BulkCreateResult bulkResult, ImportResult[] results) {
+        // errors refer to the position of the failed issue within the chunk,
+        // the created issues are returned in the order of the successful elements
+        Map<Integer, String> errors = new HashMap<>();
+        for (BulkOperationError error : bulkResult.errors()) {
+            errors.put(error.failedElementNumber(), error.elementErrors().errorMessages() + " " + error.elementErrors().errors());
+        }
+        List<CreatedIssue> created = new ArrayList<>();
+        Iterator<BasicIssue> createdIssues = bulkResult.issues().iterator();
+        for (int positionInChunk = 0; positionInChunk < chunk.size(); positionInChunk++) {
+            int index = chunk.get(positionInChunk);
+            PullRequestInfo pr = newJiras.get(index).pullRequest();
+            if (errors.containsKey(positionInChunk)) {
+                Log.error("Failed to create a Jira for PR " + pr.getUrl() + ": " + errors.get(positionInChunk));
+                results[index] = ImportResult.failure(pr.getNumber(), pr.getUrl(), errors.get(positionInChunk));
+            } else if (createdIssues.hasNext()) {
+                created.add(new CreatedIssue(index, createdIssues.next()));
+            } else {
+                results[index] = ImportResult.failure(pr.getNumber(), pr.getUrl(), "Jira did not return the created issue");
+            }
+        }
+        return created;
+    }
+
+    // adds the created issue to the index and transitions it, a failed transition doesn't fail the import
+    private Uni<ImportResult> onCreated(PullRequestInfo pr, BasicIssue issue, String fixVersion) {
+        String jiraUrl = jiraServer + "/browse/" + issue.key();
+        Log.info("Created issue: " + jiraUrl + " for PR " + pr.getUrl());
+        jiraIndex.add(newJiraInfo(issue.key(), pr.getUrl(), fixVersion));
+        ImportResult result = ImportResult.success(pr.getNumber(), pr.getUrl(), jiraUrl);
+        return transitionIssue(issue)
+                .replaceWith(result)
+                .onFailure().recoverWithItem(e -> {
+                    Log.error("Failed to transition issue " + issue.key(), e);
+                    result.setTransitionError(e.getMessage());
+                    return result;
+                });
+    }
+
+    private JiraInfo newJiraInfo(String key, String prUrl, String fixVersion) {
+        JiraInfo jiraInfo = new JiraInfo();
+        jiraInfo.setKey(key);
+        jiraInfo.setUrl(jiraServer + "/browse/" + key);
+        jiraInfo.setGitPullRequestUrls(List.of(prUrl));
+        jiraInfo.setFixVersions(List.of(fixVersion));
+        return jiraInfo;
+    }
+
+    private IssueInput buildIssueInput(String prUrl, String prTitle, String fixVersion, String type, String description, Iterable<String> jiraLabels) {
         long issueTypeId = switch (type) {
             case "bug" -> issueTypeBug;
             case "upgrade" -> issueTypeComponentUpgrade;
@@ -166,24 +572,39 @@ public class JiraService {
                     "because it's too long for Jira (original length: " + description.length() + ")");
             description = description.substring(0, 32600);
         }
-        IssueInput input = new IssueInputBuilder()
-                .setProjectKey(jiraProject)
-                .setSummary(prTitle)
-                .setIssueTypeId(issueTypeId)
-                .setDescription(description)
-                .setFieldValue(pullRequestFieldId, prUrl)
-                .setFixVersionsNames(Iterables.iterable(fixVersion))
-                .setComponentsNames(Iterables.iterable("team/eng"))
-                .setAssigneeName(assignee)
-                .setFieldValue("labels", jiraLabels)
-                .build();
-        Log.info("Issue input: " + input);
-        BasicIssue issue = client.getIssueClient().createIssue(input).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
-        Log.info("Created issue: " + jiraServer + "/browse/" + issue.getKey());
-        if (transitionToState != 0) {
-            client.getIssueClient().transition(client.getIssueClient().getIssue(issue.getKey()).get(),
-                    new TransitionInput(transitionToState, Collections.emptySet()));
-        }
-        return jiraServer + "/browse/" + issue.getKey();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("project", Map.of("key", jiraProject));
+        fields.put("summary", prTitle);
+        fields.put("issuetype", Map.of("id", String.valueOf(issueTypeId)));
+        fields.put("description", description);
+        fields.put(pullRequestFieldId, prUrl);
+        fields.put("fixVersions", List.of(Map.of("name", fixVersion)));
+        fields.put("components", List.of(Map.of("name", "team/eng")));
+        fields.put("assignee", Map.of("name", assignee));
+        fields.put("labels", jiraLabels);
+        return new IssueInput(fields);
+    }
+
+    // transitions by the key of the created issue, so the issue doesn't have to be fetched first
+    private Uni<Void> transitionIssue(BasicIssue issue) {
+        if (transitionToState == 0) {
+            return Uni.createFrom().voidItem();
+        }
+        TransitionRequest request = new TransitionRequest(new Transition(String.valueOf(transitionToState)));
+        return write("transition", () -> client.transition(issue.key(), request)
+                        .ifNoItem().after(timeout).failWith(() -> new TimeoutException("Jira did not transition the issue in time")))
+                .replaceWithVoid();
+    }
+
+    /**
+     * A pull request for which a Jira should be created, along with the type of the Jira ("bug", "upgrade" or "feature").
+     */
+    public record NewJira(PullRequestInfo pullRequest, String type) {
+
+    }
+
+    // an issue created by the bulk API, `index` is the position of its pull request in the input
+    private record CreatedIssue(int index, BasicIssue issue) {
+
     }
 }
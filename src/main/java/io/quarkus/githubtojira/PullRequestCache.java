@@ -0,0 +1,116 @@
+package io.quarkus.githubtojira;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches pull requests between showing them on a page and importing them.
+ * The cache is bounded by `pr-cache.maximum-size` entries and entries expire `pr-cache.expire-after-access`
+ * after their last use. Pull requests that are not in the cache are fetched from GitHub on demand.
+ * Only complete pull requests (with description, labels and Jira labels) are cached, the partial ones listed
+ * on the importing page are not.
+ * The cache statistics are published as `cache.*` metrics with the tag `cache=pr-cache`,
+ * and the hit ratio as `pr-cache.hit.ratio`.
+ */
+@ApplicationScoped
+public class PullRequestCache {
+
+    @Inject
+    GitHubService gitHubService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "pr-cache.maximum-size")
+    long maximumSize;
+
+    @ConfigProperty(name = "pr-cache.expire-after-access")
+    Duration expireAfterAccess;
+
+    private Cache<RepoAndPrNumber, PullRequestInfo> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "pr-cache");
+        registry.gauge("pr-cache.hit.ratio", cache, c -> c.stats().hitRate());
+    }
+
+    public void put(String repo, PullRequestInfo pullRequest) {
+        cache.put(new RepoAndPrNumber(repo, pullRequest.getNumber()), pullRequest);
+    }
+
+    /**
+     * Returns the cached pull request, or fetches it from GitHub if it's not cached.
+     * Returns null if the pull request can't be retrieved from GitHub.
+     */
+    public PullRequestInfo get(String repo, Integer prNumber) {
+        return cache.get(new RepoAndPrNumber(repo, prNumber), key -> {
+            Log.info("PR " + repo + "#" + prNumber + " not found in the cache, fetching it from GitHub");
+            return gitHubService.getPullRequestInfo(String.valueOf(prNumber), repo);
+        });
+    }
+
+    /**
+     * Returns the given pull requests by number. The ones that are not cached are fetched from GitHub in batches.
+     * Pull requests that can't be retrieved from GitHub are left out of the result.
+     */
+    public Map<Integer, PullRequestInfo> getAll(String repo, List<Integer> prNumbers) {
+        List<RepoAndPrNumber> keys = prNumbers.stream().map(prNumber -> new RepoAndPrNumber(repo, prNumber)).toList();
+        Map<RepoAndPrNumber, PullRequestInfo> pullRequests = cache.getAll(keys, missingKeys -> {
+            List<Integer> missingPrNumbers = missingKeys.stream().map(RepoAndPrNumber::prNumber).toList();
+            Log.info(missingPrNumbers.size() + " PRs of " + repo + " not found in the cache, fetching them from GitHub");
+            Map<RepoAndPrNumber, PullRequestInfo> fetched = new HashMap<>();
+            try {
+                for (PullRequestInfo pullRequest : gitHubService.getPullRequestInfosAsync(repo, missingPrNumbers).await().indefinitely()) {
+                    fetched.put(new RepoAndPrNumber(repo, pullRequest.getNumber()), pullRequest);
+                }
+            } catch (Exception e) {
+                Log.error("Error fetching pull requests " + missingPrNumbers + " of " + repo, e);
+            }
+            return fetched;
+        });
+        Map<Integer, PullRequestInfo> result = new HashMap<>();
+        pullRequests.forEach((key, pullRequest) -> result.put(key.prNumber(), pullRequest));
+        return result;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Map<String, Object> statsAsMap() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        return result;
+    }
+
+    private record RepoAndPrNumber(String repo, Integer prNumber) {
+
+    }
+}
@@ -0,0 +1,99 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import io.quarkus.logging.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Links pull requests to the Jiras that reference them in their "Git Pull Request" field.
+ * The URLs are compared in a normalized form, see {@link #normalizeUrl(String)}.
+ */
+public final class PullRequestJiraLinker {
+
+    private static final String[] IGNORED_SUFFIXES = {"/files", "/commits", "/checks"};
+
+    private PullRequestJiraLinker() {
+    }
+
+    /**
+     * Sets the `existingJiras` of each pull request to the Jiras that reference it.
+     * The Jiras are indexed by URL once, so the cost is linear in the number of pull requests and Jira URLs.
+     */
+    public static void link(List<PullRequestInfo> pullRequests, List<JiraInfo> jiras) {
+        Map<String, List<JiraInfo>> jirasByUrl = indexByUrl(jiras);
+        int linkedPullRequests = 0;
+        for (PullRequestInfo pullRequest : pullRequests) {
+            List<JiraInfo> linked = jirasByUrl.get(normalizeUrl(pullRequest.getUrl()));
+            if (linked == null) {
+                pullRequest.setExistingJiras(new ArrayList<>());
+            } else {
+                pullRequest.setExistingJiras(new ArrayList<>(linked));
+                linkedPullRequests++;
+            }
+        }
+        Log.debug("Linked existing jiras to " + linkedPullRequests + " of " + pullRequests.size() + " pull requests");
+    }
+
+    static Map<String, List<JiraInfo>> indexByUrl(List<JiraInfo> jiras) {
+        Map<String, List<JiraInfo>> jirasByUrl = new HashMap<>();
+        for (JiraInfo jira : jiras) {
+            for (String url : jira.getGitPullRequestUrls()) {
+                if (url.isEmpty()) {
+                    continue;
+                }
+                List<JiraInfo> linked = jirasByUrl.computeIfAbsent(normalizeUrl(url), key -> new ArrayList<>(1));
+                // the same Jira can list one PR multiple times, in different forms
+                if (!linked.contains(jira)) {
+                    linked.add(jira);
+                }
+            }
+        }
+        return jirasByUrl;
+    }
+
+    /**
+     * Normalizes a pull request URL, so that for example `http://github.com/quarkusio/quarkus/pull/123/files/`
+     * and `https://github.com/quarkusio/quarkus/pull/123` are considered equal.
+     */
+    public static String normalizeUrl(String url) {
+        String normalized = url.trim().toLowerCase(Locale.ROOT);
+        int queryOrFragment = indexOfAny(normalized, '?', '#');
+        if (queryOrFragment >= 0) {
+            normalized = normalized.substring(0, queryOrFragment);
+        }
+        if (normalized.startsWith("http://")) {
+            normalized = "https://" + normalized.substring("http://".length());
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            while (normalized.endsWith("/")) {
+                normalized = normalized.substring(0, normalized.length() - 1);
+                changed = true;
+            }
+            for (String suffix : IGNORED_SUFFIXES) {
+                if (normalized.endsWith(suffix)) {
+                    normalized = normalized.substring(0, normalized.length() - suffix.length());
+                    changed = true;
+                }
+            }
+        }
+        return normalized;
+    }
+
+    private static int indexOfAny(String string, char first, char second) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
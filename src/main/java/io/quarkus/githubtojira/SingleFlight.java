@@ -0,0 +1,50 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests: while a request for a key is in flight, other callers asking for the same
+ * key get its result (or failure) instead of sending their own request. Nothing is cached, once the request finishes,
+ * the next caller sends a new one. The results are shared, so they must not be modified by the callers.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Uni<V>> inFlight = new ConcurrentHashMap<>();
+    private final Consumer<K> onCoalesced;
+
+    /**
+     * @param onCoalesced called with the key whenever a caller joins a request that is already in flight
+     */
+    public SingleFlight(Consumer<K> onCoalesced) {
+        this.onCoalesced = onCoalesced;
+    }
+
+    public Uni<V> execute(K key, Supplier<Uni<V>> request) {
+        return Uni.createFrom().deferred(() -> {
+            boolean[] created = new boolean[1];
+            Uni<V> shared = inFlight.computeIfAbsent(key, k -> {
+                created[0] = true;
+                // a caller that cancels doesn't cancel the request for the others
+                return Uni.createFrom().deferred(request::get)
+                        .onTermination().invoke(() -> inFlight.remove(k))
+                        .memoize().indefinitely();
+            });
+            if (!created[0]) {
+                onCoalesced.accept(key);
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * The number of requests in flight.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
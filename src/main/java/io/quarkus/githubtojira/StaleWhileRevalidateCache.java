@@ -0,0 +1,72 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches a single value that is expensive to load and rarely changes.
+ * Once the value is older than `ttl`, the stale value is still returned, and a refresh is started in the background.
+ * At most one load is in flight at any time. If a refresh fails, the stale value is kept.
+ * Only the very first load makes the caller wait.
+ */
+public class StaleWhileRevalidateCache<T> {
+
+    private final String name;
+    private final Supplier<Uni<? extends T>> loader;
+    private final Duration ttl;
+
+    private volatile Entry<T> entry;
+    private final AtomicReference<Uni<T>> inFlight = new AtomicReference<>();
+
+    public StaleWhileRevalidateCache(String name, Duration ttl, Supplier<Uni<? extends T>> loader) {
+        this.name = name;
+        this.ttl = ttl;
+        this.loader = loader;
+    }
+
+    public Uni<T> get() {
+        Entry<T> current = entry;
+        if (current == null) {
+            return load();
+        }
+        if (System.nanoTime() - current.loadedAtNanos() > ttl.toNanos()) {
+            Log.debug("Refreshing stale " + name + " in the background");
+            load().subscribe().with(
+                    value -> Log.debug("Refreshed " + name),
+                    failure -> Log.warn("Failed to refresh " + name + ", keeping the stale value", failure));
+        }
+        return Uni.createFrom().item(current.value());
+    }
+
+    /**
+     * Returns the last successfully loaded value, or null if nothing has been loaded yet.
+     */
+    public T getIfPresent() {
+        Entry<T> current = entry;
+        return current == null ? null : current.value();
+    }
+
+    private Uni<T> load() {
+        while (true) {
+            Uni<T> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            Uni<T> newLoad = Uni.createFrom().deferred(loader)
+                    .invoke(value -> entry = new Entry<>(value, System.nanoTime()))
+                    .eventually(() -> inFlight.set(null))
+                    .memoize().indefinitely();
+            if (inFlight.compareAndSet(null, newLoad)) {
+                return newLoad;
+            }
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAtNanos) {
+
+    }
+}
@@ -0,0 +1,110 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spaces out requests to at most `ratePerSecond` on average, with bursts of up to `burst` requests.
+ * The tokens are handed out in the order in which they are asked for, a caller that has to wait gets a delayed item.
+ * The bucket can be paused, for example when the server asks to retry later: no tokens are handed out until then,
+ * not even to the callers that are already waiting, those take their tokens again after the pause.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final int burst;
+
+    // the tokens available at `refilledAtNanos`, negative if tokens have been promised to waiting callers
+    private double tokens;
+    private long refilledAtNanos;
+    private long pausedUntilNanos;
+    // incremented by every pause, which cancels the tokens promised to the waiting callers
+    private long pauses;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.tokensPerNano = ratePerSecond / Duration.ofSeconds(1).toNanos();
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAtNanos = System.nanoTime();
+        this.pausedUntilNanos = refilledAtNanos;
+    }
+
+    /**
+     * Takes a token, the returned Uni emits the time that the caller had to wait for it.
+     */
+    public Uni<Duration> acquire() {
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            Reservation reservation = reserve(start);
+            if (reservation.waitNanos() <= 0) {
+                return Uni.createFrom().item(Duration.ZERO);
+            }
+            waiting.incrementAndGet();
+            return waitFor(reservation)
+                    .onTermination().invoke(waiting::decrementAndGet)
+                    .map(ignored -> Duration.ofNanos(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Hands out no tokens for the given time.
+     */
+    public synchronized void pauseFor(Duration duration) {
+        long now = System.nanoTime();
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + duration.toNanos());
+        refill(now);
+        // the tokens are only refilled after the pause, and only one request is sent right after it
+        tokens = Math.min(Math.max(tokens, 0), 1);
+        refilledAtNanos = Math.max(refilledAtNanos, pausedUntilNanos);
+        pauses++;
+    }
+
+    /**
+     * The number of callers waiting for a token.
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    // takes a token, which the caller gets after the returned wait
+    synchronized Reservation reserve(long now) {
+        refill(now);
+        tokens -= 1;
+        long wait = refilledAtNanos - now;
+        if (tokens < 0) {
+            wait += (long) Math.ceil(-tokens / tokensPerNano);
+        }
+        return new Reservation(wait, pauses);
+    }
+
+    private void refill(long now) {
+        if (now > refilledAtNanos) {
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) * tokensPerNano);
+            refilledAtNanos = now;
+        }
+    }
+
+    private Uni<Void> waitFor(Reservation reservation) {
+        return Uni.createFrom().voidItem().onItem().delayIt().by(Duration.ofNanos(reservation.waitNanos()))
+                .chain(() -> {
+                    if (reservation.pauses() == pauses()) {
+                        return Uni.createFrom().voidItem();
+                    }
+                    // the bucket was paused in the meantime
+                    Reservation next = reserve(System.nanoTime());
+                    return next.waitNanos() <= 0 ? Uni.createFrom().voidItem() : waitFor(next);
+                });
+    }
+
+    private synchronized long pauses() {
+        return pauses;
+    }
+
+    record Reservation(long waitNanos, long pauses) {
+
+    }
+}
@@ -0,0 +1,144 @@
+package io.quarkus.githubtojira.model;
+
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    private String id;
+    // normalized PR URL and the fix version, there is at most one job per key
+    private String key;
+    private String repo;
+    private Integer prNumber;
+    private String prUrl;
+    private String fixVersion;
+    // "bug", "upgrade" or "feature"
+    private String type;
+    private Status status;
+    // number of started attempts
+    private int attempts;
+    // URL of the created Jira, null until the job succeeds
+    private String jiraUrl;
+    // description of the last failure
+    private String error;
+    // description of the failure to transition the created Jira
+    private String transitionError;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getRepo() {
+        return repo;
+    }
+
+    public void setRepo(String repo) {
+        this.repo = repo;
+    }
+
+    public Integer getPrNumber() {
+        return prNumber;
+    }
+
+    public void setPrNumber(Integer prNumber) {
+        this.prNumber = prNumber;
+    }
+
+    public String getPrUrl() {
+        return prUrl;
+    }
+
+    public void setPrUrl(String prUrl) {
+        this.prUrl = prUrl;
+    }
+
+    public String getFixVersion() {
+        return fixVersion;
+    }
+
+    public void setFixVersion(String fixVersion) {
+        this.fixVersion = fixVersion;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getJiraUrl() {
+        return jiraUrl;
+    }
+
+    public void setJiraUrl(String jiraUrl) {
+        this.jiraUrl = jiraUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getTransitionError() {
+        return transitionError;
+    }
+
+    public void setTransitionError(String transitionError) {
+        this.transitionError = transitionError;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob{" +
+                "id='" + id + '\'' +
+                ", prUrl='" + prUrl + '\'' +
+                ", fixVersion='" + fixVersion + '\'' +
+                ", type='" + type + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", jiraUrl='" + jiraUrl + '\'' +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
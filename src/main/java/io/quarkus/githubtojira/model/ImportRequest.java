@@ -0,0 +1,32 @@
+package io.quarkus.githubtojira.model;
+
+public class ImportRequest {
+
+    private Integer prNumber;
+    // "bug", "upgrade" or "feature"
+    private String type;
+
+    public Integer getPrNumber() {
+        return prNumber;
+    }
+
+    public void setPrNumber(Integer prNumber) {
+        this.prNumber = prNumber;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRequest{" +
+                "prNumber=" + prNumber +
+                ", type='" + type + '\'' +
+                '}';
+    }
+}
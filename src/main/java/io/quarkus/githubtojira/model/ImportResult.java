@@ -0,0 +1,80 @@
+package io.quarkus.githubtojira.model;
+
+public class ImportResult {
+
+    private Integer prNumber;
+    private String prUrl;
+    // URL of the created Jira, null if the import failed
+    private String jiraUrl;
+    // description of the failure, null if the import succeeded
+    private String error;
+    // description of the failure to transition the created Jira, null if it was transitioned (or didn't need to be)
+    private String transitionError;
+
+    public static ImportResult success(Integer prNumber, String prUrl, String jiraUrl) {
+        ImportResult result = new ImportResult();
+        result.setPrNumber(prNumber);
+        result.setPrUrl(prUrl);
+        result.setJiraUrl(jiraUrl);
+        return result;
+    }
+
+    public static ImportResult failure(Integer prNumber, String prUrl, String error) {
+        ImportResult result = new ImportResult();
+        result.setPrNumber(prNumber);
+        result.setPrUrl(prUrl);
+        result.setError(error);
+        return result;
+    }
+
+    public Integer getPrNumber() {
+        return prNumber;
+    }
+
+    public void setPrNumber(Integer prNumber) {
+        this.prNumber = prNumber;
+    }
+
+    public String getPrUrl() {
+        return prUrl;
+    }
+
+    public void setPrUrl(String prUrl) {
+        this.prUrl = prUrl;
+    }
+
+    public String getJiraUrl() {
+        return jiraUrl;
+    }
+
+    public void setJiraUrl(String jiraUrl) {
+        this.jiraUrl = jiraUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getTransitionError() {
+        return transitionError;
+    }
+
+    public void setTransitionError(String transitionError) {
+        this.transitionError = transitionError;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "prNumber=" + prNumber +
+                ", prUrl='" + prUrl + '\'' +
+                ", jiraUrl='" + jiraUrl + '\'' +
+                ", error='" + error + '\'' +
+                ", transitionError='" + transitionError + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package io.quarkus.githubtojira.model;
+
+import java.util.List;
+
+/**
+ * An event of the streamed importing page.
+ */
+public class ImportingEvent {
+
+    public enum Type {
+        // rows of the table, each replaces the row of the same pull request if it's already shown
+        ROWS,
+        // all pull requests were listed, the stream ends
+        DONE,
+        // listing the pull requests failed, the stream ends
+        ERROR
+    }
+
+    private Type type;
+    // the rows of ROWS events
+    private List<ImportingRow> rows;
+    // description of the failure of ERROR events
+    private String error;
+
+    public static ImportingEvent rows(List<ImportingRow> rows) {
+        ImportingEvent event = new ImportingEvent();
+        event.setType(Type.ROWS);
+        event.setRows(rows);
+        return event;
+    }
+
+    public static ImportingEvent done() {
+        ImportingEvent event = new ImportingEvent();
+        event.setType(Type.DONE);
+        return event;
+    }
+
+    public static ImportingEvent error(String error) {
+        ImportingEvent event = new ImportingEvent();
+        event.setType(Type.ERROR);
+        event.setError(error);
+        return event;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public List<ImportingRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<ImportingRow> rows) {
+        this.rows = rows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportingEvent{" +
+                "type=" + type +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package io.quarkus.githubtojira.model;
+
+import java.util.List;
+
+/**
+ * A pull request as shown in one row of the importing page, with only the data that the page needs.
+ */
+public class ImportingRow {
+
+    private Integer number;
+    private String url;
+    private String title;
+    // null while the existing Jiras are being looked up
+    private List<ExistingJira> existingJiras;
+
+    public static ImportingRow of(PullRequestInfo pullRequest) {
+        ImportingRow row = new ImportingRow();
+        row.setNumber(pullRequest.getNumber());
+        row.setUrl(pullRequest.getUrl());
+        row.setTitle(pullRequest.getTitle());
+        if (pullRequest.getExistingJiras() != null) {
+            row.setExistingJiras(pullRequest.getExistingJiras().stream()
+                    .map(jira -> new ExistingJira(jira.getKey(), jira.getUrl()))
+                    .toList());
+        }
+        return row;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public List<ExistingJira> getExistingJiras() {
+        return existingJiras;
+    }
+
+    public void setExistingJiras(List<ExistingJira> existingJiras) {
+        this.existingJiras = existingJiras;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportingRow{" +
+                "number=" + number +
+                ", url='" + url + '\'' +
+                ", title='" + title + '\'' +
+                ", existingJiras=" + existingJiras +
+                '}';
+    }
+
+    public record ExistingJira(String key, String url) {
+
+    }
+}
@@ -7,6 +7,7 @@ public class JiraInfo {
     private String key;
     private String url;
     private List<String> gitPullRequestUrls;
+    private List<String> fixVersions;
 
     public String getKey() {
         return key;
@@ -31,4 +32,12 @@ public class JiraInfo {
     public void setGitPullRequestUrls(List<String> gitPullRequestUrls) {
         this.gitPullRequestUrls = gitPullRequestUrls;
     }
+
+    public List<String> getFixVersions() {
+        return fixVersions;
+    }
+
+    public void setFixVersions(List<String> fixVersions) {
+        this.fixVersions = fixVersions;
+    }
 }
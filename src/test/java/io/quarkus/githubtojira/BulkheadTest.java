@@ -0,0 +1,39 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadTest {
+
+    @Test
+    public void testLimitsConcurrentAndWaitingRequests() {
+        Bulkhead bulkhead = new Bulkhead("test", 2, 1);
+        List<UniEmitter<? super String>> running = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            bulkhead.run(() -> Uni.createFrom().<String>emitter(e -> running.add(e)))
+                    .subscribe().with(results::add, failures::add);
+        }
+        assertThat(running).hasSize(2);
+        assertThat(bulkhead.waiting()).isEqualTo(1);
+        assertThat(failures).singleElement().isInstanceOf(Bulkhead.BulkheadFullException.class);
+
+        // a finished request lets the waiting one run
+        running.get(0).complete("first");
+        assertThat(running).hasSize(3);
+        assertThat(bulkhead.waiting()).isZero();
+        running.get(1).fail(new RuntimeException("failed"));
+        running.get(2).complete("third");
+        assertThat(results).containsExactly("first", "third");
+
+        bulkhead.run(() -> Uni.createFrom().item("fourth")).subscribe().with(results::add);
+        assertThat(results).containsExactly("first", "third", "fourth");
+    }
+}
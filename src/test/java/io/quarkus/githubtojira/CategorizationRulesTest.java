@@ -0,0 +1,117 @@
+package io.quarkus.githubtojira;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CategorizationRulesTest {
+
+    // the rules from application.properties
+    static final List<CategorizationRules.Rule> RULES = List.of(
+            new CategorizationRules.Rule("upstream-docs", List.of("area/documentation", "area/docstyle"),
+                    List.of("docs/src"), List.of(".adoc", ".md")),
+            new CategorizationRules.Rule("upstream-infra", List.of("area/infra-automation"),
+                    List.of(".github", ".mvn/maven.config", "devtools/cli/distribution"), List.of()),
+            new CategorizationRules.Rule("upstream-testing", List.of("area/testing"),
+                    List.of("test-framework", "integration-tests"), List.of("TestCase.java", "Test.java")));
+
+    final CategorizationRules rules = CategorizationRules.compile(RULES, List.of("triage", "kind"), true);
+
+    @Test
+    public void testClassify() {
+        assertThat(rules.classify(List.of("area/documentation", "triage/backport"), List.of("extensions/foo/Foo.java")))
+                .containsExactly("upstream-docs");
+        assertThat(rules.classify(List.of("area/core"), List.of("docs/src/main/asciidoc/foo.adoc", "README.md")))
+                .containsExactly("upstream-docs");
+        assertThat(rules.classify(List.of("area/core"), List.of(".github/workflows/ci.yml")))
+                .containsExactly("upstream-infra");
+        assertThat(rules.classify(List.of("area/core"), List.of("core/src/test/java/FooTest.java", "core/src/test/java/BarTestCase.java")))
+                .containsExactly("upstream-testing");
+        // all files have to match by prefix, or all of them by suffix
+        assertThat(rules.classify(List.of("area/core"), List.of("core/src/test/java/FooTest.java", "integration-tests/foo/pom.xml")))
+                .isEmpty();
+        assertThat(rules.classify(List.of("area/core"), List.of("core/src/main/java/Foo.java", "docs/src/main/asciidoc/foo.adoc")))
+                .isEmpty();
+    }
+
+    @Test
+    public void testAllMatchingRules() {
+        CategorizationRules allMatching = CategorizationRules.compile(RULES, List.of("triage", "kind"), false);
+        assertThat(allMatching.classify(List.of("area/testing"), List.of("docs/src/main/asciidoc/testing.adoc")))
+                .containsExactly("upstream-docs", "upstream-testing");
+    }
+
+    @Test
+    public void testIsDecided() {
+        CategorizationRules.Classification classification = rules.newClassification(List.of("area/core"));
+        assertThat(classification.isDecided()).isFalse();
+        // rules out upstream-docs and upstream-infra, upstream-testing is still possible because of the prefix
+        classification.accept("integration-tests/main/src/test/java/FooTest.java");
+        assertThat(classification.isDecided()).isFalse();
+        classification.accept("integration-tests/main/pom.xml");
+        assertThat(classification.isDecided()).isFalse();
+        // rules out upstream-testing, so no more files can change the result
+        classification.accept("core/src/main/java/Foo.java");
+        assertThat(classification.isDecided()).isTrue();
+        assertThat(classification.jiraLabels()).isEmpty();
+
+        // the first rule matches by labels, so the files don't matter
+        assertThat(rules.newClassification(List.of("area/docstyle")).isDecided()).isTrue();
+    }
+
+    @Test
+    public void testSameResultsAsNestedMatching() {
+        List<String> labelPool = List.of("area/documentation", "area/docstyle", "area/infra-automation", "area/testing",
+                "area/core", "triage/backport", "kind/bug");
+        List<String> filePool = List.of("docs/src/main/asciidoc/foo.adoc", "docs/src/main/asciidoc/bar.md", "README.md",
+                ".github/workflows/ci.yml", ".mvn/maven.config", "devtools/cli/distribution/jreleaser.yml",
+                "test-framework/junit5/Foo.java", "integration-tests/main/pom.xml", "core/src/test/java/FooTest.java",
+                "core/src/test/java/BarTestCase.java", "core/src/main/java/Foo.java", "docs/src");
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            List<String> labels = randomSubset(labelPool, random);
+            List<String> files = randomSubset(filePool, random);
+            assertThat(rules.classify(labels, files))
+                    .as("labels %s, files %s", labels, files)
+                    .isEqualTo(nestedMatching(labels, files));
+        }
+    }
+
+    private static List<String> randomSubset(List<String> pool, Random random) {
+        List<String> result = new ArrayList<>();
+        int size = random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            result.add(pool.get(random.nextInt(pool.size())));
+        }
+        return result;
+    }
+
+    // the original implementation, which evaluated the rules one by one
+    static List<String> nestedMatching(List<String> prLabels, List<String> prFiles) {
+        for (CategorizationRules.Rule rule : RULES) {
+            if (checkLabelsAndPaths(prLabels, prFiles, rule.githubLabels(), rule.pathPrefixes(), rule.pathSuffixes())) {
+                return List.of(rule.jiraLabel());
+            }
+        }
+        return List.of();
+    }
+
+    static boolean checkLabelsAndPaths(List<String> prLabels, List<String> prFiles, List<String> expectedLabels,
+                                       List<String> expectedPathStarts, List<String> expectedPathEnds) {
+        boolean prLabelsMatch = prLabels.stream()
+                .filter(label -> !label.startsWith("triage"))
+                .filter(label -> !label.startsWith("kind"))
+                .allMatch(label -> expectedLabels.contains(label));
+        boolean prFilesStartMatch = prFiles.stream()
+                .allMatch(changedFile -> expectedPathStarts.stream()
+                        .anyMatch(expectedPathStart -> changedFile.startsWith(expectedPathStart)));
+        boolean prFilesEndMatch = prFiles.stream()
+                .allMatch(changedFile -> expectedPathEnds.stream()
+                        .anyMatch(expectedPathEnd -> changedFile.endsWith(expectedPathEnd)));
+        return prLabelsMatch || prFilesStartMatch || prFilesEndMatch;
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 3, Duration.ofHours(1), failure -> true);
+
+        call(circuitBreaker, false);
+        call(circuitBreaker, true);
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        // a success resets the count
+        call(circuitBreaker, false);
+        call(circuitBreaker, false);
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        call(circuitBreaker, false);
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(requests).hasValue(5);
+
+        assertThatThrownBy(() -> call(circuitBreaker, true)).isInstanceOf(CircuitBreaker.CircuitBreakerOpenException.class);
+        assertThat(requests).hasValue(5);
+    }
+
+    @Test
+    public void testTrialRequestAfterOpenDuration() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, Duration.ofMillis(50), failure -> true);
+
+        call(circuitBreaker, false);
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        Thread.sleep(100);
+        // the failed trial opens the breaker again
+        call(circuitBreaker, false);
+        assertThat(requests).hasValue(2);
+        assertThatThrownBy(() -> call(circuitBreaker, true)).isInstanceOf(CircuitBreaker.CircuitBreakerOpenException.class);
+
+        Thread.sleep(100);
+        call(circuitBreaker, true);
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        call(circuitBreaker, true);
+        assertThat(requests).hasValue(4);
+    }
+
+    @Test
+    public void testIgnoredFailuresDontOpen() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, Duration.ofHours(1),
+                failure -> !(failure instanceof IllegalArgumentException));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> circuitBreaker.call(() -> Uni.createFrom().failure(new IllegalArgumentException("rejected")))
+                    .await().indefinitely()).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    // the failures are swallowed, so that the state of the breaker can be checked after each call
+    private void call(CircuitBreaker circuitBreaker, boolean success) {
+        try {
+            circuitBreaker.call(() -> {
+                requests.incrementAndGet();
+                return success ? Uni.createFrom().item("ok") : Uni.createFrom().failure(new RuntimeException("failed"));
+            }).await().indefinitely();
+        } catch (CircuitBreaker.CircuitBreakerOpenException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            assertThat(e).hasMessage("failed");
+        }
+    }
+}
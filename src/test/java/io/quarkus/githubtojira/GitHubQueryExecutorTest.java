@@ -0,0 +1,82 @@
+package io.quarkus.githubtojira;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GitHubQueryExecutorTest {
+
+    @Test
+    public void testRateLimitedErrors() {
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("API rate limit exceeded for user ID 1.", "RATE_LIMITED"))).isTrue();
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("You have exceeded a secondary rate limit.", null))).isTrue();
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("abuse detection mechanism triggered", "FORBIDDEN"))).isTrue();
+        assertThat(rateLimited(
+                new GitHubGraphQLClient.Error("Could not resolve to a PullRequest with the number of 1.", "NOT_FOUND"),
+                new GitHubGraphQLClient.Error("API rate limit exceeded", "RATE_LIMITED"))).isTrue();
+    }
+
+    @Test
+    public void testStatusCodesInErrorMessagesAreNotRateLimiting() {
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("Could not resolve to a PullRequest with the number of 503.", "NOT_FOUND"))).isFalse();
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("Could not resolve to a PullRequest with the number of 429.", "NOT_FOUND"))).isFalse();
+        assertThat(rateLimited(new GitHubGraphQLClient.Error("Field 'pr502' doesn't exist on type 'Repository'", null))).isFalse();
+        assertThat(GitHubQueryExecutor.summarize(List.of(), null).rateLimited()).isFalse();
+    }
+
+    @Test
+    public void testRetryableTransportFailures() {
+        assertThat(GitHubQueryExecutor.isRetryable(new GitHubQueryExecutor.GitHubRateLimitException("[API rate limit exceeded]"))).isTrue();
+        assertThat(GitHubQueryExecutor.isRetryable(new IOException("Received: 'Bad Gateway, status code 502'"))).isTrue();
+        assertThat(GitHubQueryExecutor.isRetryable(new IOException("Received: 'Service Unavailable, status code 503'"))).isTrue();
+        assertThat(GitHubQueryExecutor.isRetryable(new IOException("Received: 'Too Many Requests, status code 429'"))).isTrue();
+        assertThat(GitHubQueryExecutor.isRetryable(new IOException("Received: 'Unauthorized, status code 401'"))).isFalse();
+        // timeouts are not retried, see `github.timeout`
+        assertThat(GitHubQueryExecutor.isRetryable(new TimeoutException("GitHub did not answer pullRequest in time"))).isFalse();
+        assertThat(GitHubQueryExecutor.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    public void testPacingIsCapped() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GitHubQueryExecutor executor = new GitHubQueryExecutor();
+        executor.registry = registry;
+        executor.reserve = 100;
+        executor.pacingThreshold = 1000;
+        executor.maxPacingDelay = Duration.ofSeconds(1);
+
+        // the budget is exhausted for the next hour: the request fails instead of waiting for the reset
+        executor.recordRateLimit("pullRequest", new GitHubQueryExecutor.ResponseSummary(List.of(), false, 1, 50,
+                Instant.now().plus(Duration.ofHours(1)).toString()));
+        assertThatThrownBy(() -> executor.pace("pullRequest").await().atMost(Duration.ofSeconds(1)))
+                .isInstanceOf(GitHubQueryExecutor.GitHubRateLimitExhaustedException.class);
+        assertThat(GitHubQueryExecutor.isRetryable(new GitHubQueryExecutor.GitHubRateLimitExhaustedException(
+                "The GitHub rate limit budget is exhausted until " + Instant.now()))).isFalse();
+        assertThat(registry.counter("github.requests.paced", "operation", "pullRequest", "outcome", "rejected").count()).isEqualTo(1);
+
+        // the reset is close enough to wait for it
+        executor.recordRateLimit("pullRequest", new GitHubQueryExecutor.ResponseSummary(List.of(), false, 1, 50,
+                Instant.now().plus(Duration.ofMillis(200)).toString()));
+        long start = System.nanoTime();
+        executor.pace("pullRequest").await().atMost(Duration.ofSeconds(1));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(registry.counter("github.requests.paced", "operation", "pullRequest", "outcome", "delayed").count()).isEqualTo(1);
+
+        // plenty of budget left
+        executor.recordRateLimit("pullRequest", new GitHubQueryExecutor.ResponseSummary(List.of(), false, 1, 4000,
+                Instant.now().plus(Duration.ofHours(1)).toString()));
+        assertThat(executor.pacingDelay()).isZero();
+    }
+
+    private static boolean rateLimited(GitHubGraphQLClient.Error... errors) {
+        return GitHubQueryExecutor.summarize(List.of(errors), null).rateLimited();
+    }
+}
@@ -0,0 +1,271 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.githubtojira.model.ImportJob;
+import io.quarkus.githubtojira.model.ImportRequest;
+import io.quarkus.githubtojira.model.ImportResult;
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Startup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImportJobQueueTest {
+
+    static final String REPO = "quarkusio/quarkus";
+    static final String FIX_VERSION = "3.20.1.GA";
+
+    @TempDir
+    Path directory;
+
+    FakeJiraService jira = new FakeJiraService();
+    ImportJobQueue queue;
+
+    @AfterEach
+    public void closeQueue() throws Exception {
+        queue.closeJournal();
+    }
+
+    @Test
+    public void testDuplicateSubmitReturnsTheSameJob() throws Exception {
+        queue = startQueue();
+
+        ImportJob job = queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(job, ImportJob.Status.SUCCEEDED);
+
+        assertThat(queue.submit(REPO, 1, FIX_VERSION, "bug")).isSameAs(job);
+        assertThat(queue.submitAll(REPO, List.of(request(1)), FIX_VERSION)).containsExactly(job);
+        // another fix version is another import
+        ImportJob other = queue.submit(REPO, 1, "3.21.0.GA", "bug");
+        assertThat(other).isNotSameAs(job);
+        awaitStatus(other, ImportJob.Status.SUCCEEDED);
+        assertThat(jira.created).containsExactly("https://github.com/quarkusio/quarkus/pull/1 " + FIX_VERSION,
+                "https://github.com/quarkusio/quarkus/pull/1 3.21.0.GA");
+    }
+
+    @Test
+    public void testResubmittedFailedJobIsRetried() throws Exception {
+        queue = startQueue();
+        jira.failing = true;
+
+        ImportJob job = queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(job, ImportJob.Status.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(3);
+        assertThat(jira.created).hasSize(3);
+        // every attempt after a failed one looks for the Jira first
+        assertThat(jira.searches).isEqualTo(2);
+
+        assertThat(queue.submit(REPO, 1, FIX_VERSION, "bug")).isSameAs(job);
+        awaitStatus(job, ImportJob.Status.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(3);
+        assertThat(jira.created).hasSize(6);
+        assertThat(jira.searches).isEqualTo(5);
+
+        jira.failing = false;
+        queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(job, ImportJob.Status.SUCCEEDED);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getError()).isNull();
+    }
+
+    @Test
+    public void testRetryFindsTheJiraCreatedByAFailedAttempt() throws Exception {
+        queue = startQueue();
+        // the Jira is created, but the response doesn't arrive
+        jira.failing = true;
+        jira.existing.add("https://github.com/quarkusio/quarkus/pull/1");
+
+        ImportJob job = queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(job, ImportJob.Status.SUCCEEDED);
+
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getJiraUrl()).isEqualTo("https://issues.redhat.com/browse/QUARKUS-1");
+        assertThat(jira.created).hasSize(1);
+    }
+
+    @Test
+    public void testBulkSubmitIsImportedInChunks() throws Exception {
+        queue = startQueue();
+
+        List<ImportJob> jobs = queue.submitAll(REPO, List.of(request(1), request(2), request(3), request(4), request(5)), FIX_VERSION);
+        for (ImportJob job : jobs) {
+            awaitStatus(job, ImportJob.Status.SUCCEEDED);
+        }
+
+        // the last job is imported alone
+        assertThat(jira.chunks).containsExactly(2, 2);
+        assertThat(jira.created).hasSize(5);
+        assertThat(jobs).extracting(ImportJob::getJiraUrl).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testUnfinishedJobsAreResumed() throws Exception {
+        queue = startQueue();
+        ImportJob succeeded = queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(succeeded, ImportJob.Status.SUCCEEDED);
+        queue.closeJournal();
+
+        // jobs that were running and queued when the application stopped
+        try (ImportJournal journal = new ImportJournal(directory.resolve("import-jobs.jsonl"), new ObjectMapper())) {
+            journal.append(job("2", 2, ImportJob.Status.RUNNING));
+            journal.append(job("3", 3, ImportJob.Status.QUEUED));
+        }
+
+        jira = new FakeJiraService();
+        // the running job created its Jira before the restart
+        jira.existing.add("https://github.com/quarkusio/quarkus/pull/2");
+        queue = startQueue();
+        ImportJob interrupted = queue.getJob("2");
+        ImportJob queued = queue.getJob("3");
+        awaitStatus(interrupted, ImportJob.Status.SUCCEEDED);
+        awaitStatus(queued, ImportJob.Status.SUCCEEDED);
+
+        assertThat(interrupted.getJiraUrl()).isEqualTo("https://issues.redhat.com/browse/QUARKUS-2");
+        assertThat(jira.searches).isEqualTo(1);
+        assertThat(jira.created).containsExactly("https://github.com/quarkusio/quarkus/pull/3 " + FIX_VERSION);
+        assertThat(queue.getJob(succeeded.getId()).getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+        assertThat(queue.submit(REPO, 1, FIX_VERSION, "bug").getId()).isEqualTo(succeeded.getId());
+        assertThat(queue.submit(REPO, 2, FIX_VERSION, "bug")).isSameAs(interrupted);
+    }
+
+    @Test
+    public void testJournalRecordsTheLastState() throws Exception {
+        queue = startQueue();
+        ImportJob job = queue.submit(REPO, 1, FIX_VERSION, "bug");
+        awaitStatus(job, ImportJob.Status.SUCCEEDED);
+        queue.closeJournal();
+
+        assertThat(new ImportJournal(directory.resolve("import-jobs.jsonl"), new ObjectMapper()).load())
+                .singleElement()
+                .satisfies(recorded -> {
+                    assertThat(recorded.getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+                    assertThat(recorded.getJiraUrl()).isEqualTo(job.getJiraUrl());
+                });
+    }
+
+    private ImportJobQueue startQueue() throws Exception {
+        ImportJobQueue queue = new ImportJobQueue();
+        queue.pullRequestCache = new FakePullRequestCache();
+        queue.jiraService = jira;
+        queue.objectMapper = new ObjectMapper();
+        queue.registry = new SimpleMeterRegistry();
+        queue.journalPath = directory.resolve("import-jobs.jsonl").toString();
+        queue.concurrency = 1;
+        queue.maxAttempts = 3;
+        queue.initialBackoff = Duration.ofMillis(1);
+        queue.maxBackoff = Duration.ofMillis(10);
+        queue.bulkCreateChunkSize = 2;
+        queue.resumeUnfinishedJobs(new Startup());
+        return queue;
+    }
+
+    private static void awaitStatus(ImportJob job, ImportJob.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (job.getStatus() != status) {
+            assertThat(System.nanoTime()).as("Waiting for " + job + " to be " + status).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static ImportRequest request(int prNumber) {
+        ImportRequest request = new ImportRequest();
+        request.setPrNumber(prNumber);
+        request.setType("bug");
+        return request;
+    }
+
+    private static ImportJob job(String id, int prNumber, ImportJob.Status status) {
+        ImportJob job = new ImportJob();
+        job.setId(id);
+        job.setRepo(REPO);
+        job.setPrNumber(prNumber);
+        job.setPrUrl("https://github.com/" + REPO + "/pull/" + prNumber);
+        job.setKey(job.getPrUrl() + " " + FIX_VERSION);
+        job.setFixVersion(FIX_VERSION);
+        job.setType("bug");
+        job.setStatus(status);
+        job.setAttempts(1);
+        return job;
+    }
+
+    static class FakePullRequestCache extends PullRequestCache {
+
+        @Override
+        public PullRequestInfo get(String repo, Integer prNumber) {
+            PullRequestInfo pr = new PullRequestInfo();
+            pr.setNumber(prNumber);
+            pr.setUrl("https://github.com/" + repo + "/pull/" + prNumber);
+            pr.setTitle("PR " + prNumber);
+            return pr;
+        }
+
+        @Override
+        public Map<Integer, PullRequestInfo> getAll(String repo, List<Integer> prNumbers) {
+            Map<Integer, PullRequestInfo> pullRequests = new LinkedHashMap<>();
+            prNumbers.forEach(prNumber -> pullRequests.put(prNumber, get(repo, prNumber)));
+            return pullRequests;
+        }
+    }
+
+    static class FakeJiraService extends JiraService {
+
+        volatile boolean failing;
+        // the PR URLs of the Jiras that exist, and the created ones with their fix version
+        final List<String> existing = Collections.synchronizedList(new ArrayList<>());
+        final List<String> created = Collections.synchronizedList(new ArrayList<>());
+        // the sizes of the bulk creates
+        final List<Integer> chunks = Collections.synchronizedList(new ArrayList<>());
+        volatile int searches;
+
+        @Override
+        public Uni<ImportResult> createJiraAsync(NewJira newJira, String fixVersion) {
+            return Uni.createFrom().item(() -> create(newJira.pullRequest(), fixVersion));
+        }
+
+        @Override
+        public Uni<List<ImportResult>> createJirasAsync(List<NewJira> newJiras, String fixVersion) {
+            chunks.add(newJiras.size());
+            return Uni.createFrom().item(() -> newJiras.stream().map(newJira -> create(newJira.pullRequest(), fixVersion)).toList());
+        }
+
+        @Override
+        public Uni<List<JiraInfo>> findExistingJirasForPullRequestsAsync(List<String> prUrls, String fixVersion) {
+            searches++;
+            return Uni.createFrom().item(() -> existing.stream()
+                    .filter(prUrls::contains)
+                    .map(prUrl -> jira(prUrl, fixVersion))
+                    .toList());
+        }
+
+        private ImportResult create(PullRequestInfo pr, String fixVersion) {
+            created.add(pr.getUrl() + " " + fixVersion);
+            if (failing) {
+                return ImportResult.failure(pr.getNumber(), pr.getUrl(), "Jira did not create the issue in time");
+            }
+            return ImportResult.success(pr.getNumber(), pr.getUrl(), "https://issues.redhat.com/browse/QUARKUS-" + (100 + created.size()));
+        }
+
+        private static JiraInfo jira(String prUrl, String fixVersion) {
+            String number = prUrl.substring(prUrl.lastIndexOf('/') + 1);
+            JiraInfo jira = new JiraInfo();
+            jira.setKey("QUARKUS-" + number);
+            jira.setUrl("https://issues.redhat.com/browse/QUARKUS-" + number);
+            jira.setGitPullRequestUrls(List.of(prUrl));
+            jira.setFixVersions(List.of(fixVersion));
+            return jira;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.quarkus.githubtojira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.githubtojira.model.ImportJob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImportJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLastStateOfEachJobWins() throws Exception {
+        Path path = directory.resolve("journal/import-jobs.jsonl");
+        ImportJob first = job("1", 123);
+        ImportJob second = job("2", 456);
+        try (ImportJournal journal = new ImportJournal(path, new ObjectMapper())) {
+            journal.append(first);
+            journal.append(second);
+            first.setStatus(ImportJob.Status.SUCCEEDED);
+            first.setJiraUrl("https://issues.redhat.com/browse/QUARKUS-1");
+            journal.append(first);
+        }
+
+        List<ImportJob> jobs = new ImportJournal(path, new ObjectMapper()).load();
+        assertThat(jobs).extracting(ImportJob::getId).containsExactly("1", "2");
+        assertThat(jobs.get(0).getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+        assertThat(jobs.get(0).getJiraUrl()).isEqualTo("https://issues.redhat.com/browse/QUARKUS-1");
+        assertThat(jobs.get(1).getStatus()).isEqualTo(ImportJob.Status.QUEUED);
+    }
+
+    @Test
+    public void testPartiallyWrittenLineIsSkipped() throws Exception {
+        Path path = directory.resolve("import-jobs.jsonl");
+        try (ImportJournal journal = new ImportJournal(path, new ObjectMapper())) {
+            journal.append(job("1", 123));
+        }
+        Files.writeString(path, "{\"id\":\"2\",\"prNum", StandardOpenOption.APPEND);
+
+        assertThat(new ImportJournal(path, new ObjectMapper()).load())
+                .extracting(ImportJob::getId)
+                .containsExactly("1");
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        Path path = directory.resolve("import-jobs.jsonl");
+        ImportJob job = job("1", 123);
+        try (ImportJournal journal = new ImportJournal(path, new ObjectMapper())) {
+            journal.append(job);
+            job.setStatus(ImportJob.Status.RUNNING);
+            journal.append(job);
+            journal.compact(journal.load());
+            job.setStatus(ImportJob.Status.FAILED);
+            journal.append(job);
+        }
+
+        assertThat(Files.readAllLines(path)).hasSize(2);
+        assertThat(new ImportJournal(path, new ObjectMapper()).load())
+                .extracting(ImportJob::getStatus)
+                .containsExactly(ImportJob.Status.FAILED);
+    }
+
+    private static ImportJob job(String id, int prNumber) {
+        ImportJob job = new ImportJob();
+        job.setId(id);
+        job.setPrNumber(prNumber);
+        job.setPrUrl("https://github.com/quarkusio/quarkus/pull/" + prNumber);
+        job.setKey(job.getPrUrl() + " 3.20.1.GA");
+        job.setFixVersion("3.20.1.GA");
+        job.setType("bug");
+        job.setStatus(ImportJob.Status.QUEUED);
+        return job;
+    }
+}
@@ -0,0 +1,124 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.githubtojira.model.JiraInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JiraIndexTest {
+
+    @Test
+    public void testAddAndFind() {
+        JiraIndex index = new JiraIndex();
+        JiraInfo jiraA = jira("QUARKUS-1", "3.20.1.GA", "https://github.com/quarkusio/quarkus/pull/1/files", "http://github.com/quarkusio/quarkus/pull/2");
+        JiraInfo jiraB = jira("QUARKUS-2", "3.20.1.GA", "https://github.com/quarkusio/quarkus/pull/2/", "");
+        JiraInfo jiraC = jira("QUARKUS-3", "3.21.0.GA", "https://github.com/quarkusio/quarkus/pull/1");
+        index.add(jiraA);
+        index.add(jiraB);
+        index.add(jiraC);
+
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/1"), "3.20.*"))
+                .containsExactly(jiraA);
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/1"), "3.*"))
+                .containsExactly(jiraA, jiraC);
+        // a Jira is only returned once
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/1",
+                "https://github.com/QuarkusIO/quarkus/pull/2"), "3.20.*"))
+                .containsExactly(jiraA, jiraB);
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/3"), "3.*"))
+                .isEmpty();
+    }
+
+    @Test
+    public void testReplace() {
+        JiraIndex index = new JiraIndex();
+        index.add(jira("QUARKUS-1", "3.20.1.GA", "https://github.com/quarkusio/quarkus/pull/1", "https://github.com/quarkusio/quarkus/pull/2"));
+        JiraInfo changed = jira("QUARKUS-1", "3.20.2.GA", "https://github.com/quarkusio/quarkus/pull/2", "https://github.com/quarkusio/quarkus/pull/3");
+        index.add(changed);
+
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/1"), "3.20.*")).isEmpty();
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/2"), "3.20.*")).containsExactly(changed);
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/3"), "3.20.*")).containsExactly(changed);
+
+        // the pull request field was cleared
+        index.add(jira("QUARKUS-1", "3.20.2.GA"));
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/2",
+                "https://github.com/quarkusio/quarkus/pull/3"), "3.*")).isEmpty();
+    }
+
+    @Test
+    public void testSynchronize() throws Exception {
+        JiraIndex index = new JiraIndex();
+        FakeJiraService jiraService = new FakeJiraService();
+        index.jiraService = jiraService;
+        index.enabled = true;
+        index.syncOverlap = Duration.ofMinutes(10);
+        index.maxStaleness = Duration.ofMinutes(15);
+        assertThat(index.isReady()).isFalse();
+
+        jiraService.jiras = List.of(jira("QUARKUS-1", "3.20.1.GA", "https://github.com/quarkusio/quarkus/pull/1"));
+        index.synchronize();
+        assertThat(index.isReady()).isTrue();
+        assertThat(jiraService.conditions).containsExactly("\"Git Pull Request\" is not EMPTY");
+
+        // the field of QUARKUS-1 was cleared, the delta query returns it too
+        jiraService.jiras = List.of(jira("QUARKUS-1", "3.20.1.GA"),
+                jira("QUARKUS-2", "3.20.1.GA", "https://github.com/quarkusio/quarkus/pull/1"));
+        index.synchronize();
+        assertThat(jiraService.conditions).last().isEqualTo("updated >= -11m");
+        assertThat(index.findExistingJirasForPullRequests(List.of("https://github.com/quarkusio/quarkus/pull/1"), "3.20.*"))
+                .extracting(JiraInfo::getKey)
+                .containsExactly("QUARKUS-2");
+    }
+
+    @Test
+    public void testStaleIndexIsNotReady() throws Exception {
+        JiraIndex index = new JiraIndex();
+        FakeJiraService jiraService = new FakeJiraService();
+        index.jiraService = jiraService;
+        index.enabled = true;
+        index.syncOverlap = Duration.ofMinutes(10);
+        index.maxStaleness = Duration.ofMillis(100);
+
+        index.synchronize();
+        assertThat(index.isReady()).isTrue();
+
+        jiraService.failing = true;
+        Thread.sleep(200);
+        index.synchronize();
+        assertThat(index.isReady()).isFalse();
+
+        jiraService.failing = false;
+        index.synchronize();
+        assertThat(index.isReady()).isTrue();
+    }
+
+    private static JiraInfo jira(String key, String fixVersion, String... prUrls) {
+        JiraInfo jira = new JiraInfo();
+        jira.setKey(key);
+        jira.setUrl("https://issues.redhat.com/browse/" + key);
+        jira.setGitPullRequestUrls(List.of(prUrls));
+        jira.setFixVersions(List.of(fixVersion));
+        return jira;
+    }
+
+    static class FakeJiraService extends JiraService {
+
+        List<JiraInfo> jiras = List.of();
+        boolean failing;
+        final List<String> conditions = new ArrayList<>();
+
+        @Override
+        public List<JiraInfo> findJiras(String condition) throws Exception {
+            conditions.add(condition);
+            if (failing) {
+                throw new IllegalStateException("Jira is down");
+            }
+            return jiras;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.quarkus.githubtojira;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JiraServiceTest {
+
+    static final Duration DEFAULT = Duration.ofSeconds(10);
+
+    @Test
+    public void testReadTimeoutsOpenTheCircuitBreaker() {
+        AtomicInteger requests = new AtomicInteger();
+        JiraService jiraService = new JiraService();
+        // Jira never answers
+        jiraService.client = (JiraClient) Proxy.newProxyInstance(JiraClient.class.getClassLoader(), new Class<?>[] { JiraClient.class },
+                (proxy, method, args) -> {
+                    requests.incrementAndGet();
+                    return Uni.createFrom().nothing();
+                });
+        jiraService.registry = new SimpleMeterRegistry();
+        jiraService.jiraProject = "QUARKUS";
+        jiraService.pullRequestFieldId = "customfield_1";
+        jiraService.timeout = Duration.ofMillis(50);
+        jiraService.maxJqlLength = 3000;
+        jiraService.searchConcurrency = 4;
+        jiraService.maxConcurrentRequests = 16;
+        jiraService.maxWaitingRequests = 200;
+        jiraService.circuitBreakerFailureThreshold = 2;
+        jiraService.circuitBreakerOpenDuration = Duration.ofHours(1);
+        jiraService.writeRate = 5;
+        jiraService.writeBurst = 10;
+        jiraService.init();
+
+        assertThatThrownBy(() -> jiraService.findExistingFixVersionsAsync().await().indefinitely())
+                .hasRootCauseInstanceOf(TimeoutException.class);
+        assertThatThrownBy(() -> jiraService.findExistingJirasForPullRequestsAsync(
+                List.of("https://github.com/quarkusio/quarkus/pull/1"), "3.20.*").await().indefinitely())
+                .hasRootCauseInstanceOf(TimeoutException.class);
+        assertThat(requests).hasValue(2);
+
+        assertThatThrownBy(() -> jiraService.findExistingFixVersionsAsync().await().indefinitely())
+                .isInstanceOf(CircuitBreaker.CircuitBreakerOpenException.class);
+        assertThatThrownBy(() -> jiraService.findJiras("updated >= -10m"))
+                .isInstanceOf(CircuitBreaker.CircuitBreakerOpenException.class);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    public void testRetryAfter() {
+        assertThat(JiraService.retryAfter("3", null, DEFAULT)).isEqualTo(Duration.ofSeconds(3));
+        assertThat(JiraService.retryAfter(" 0 ", "2000-01-01T00:00Z", DEFAULT)).isZero();
+
+        String inAMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.now().plusSeconds(60).atOffset(ZoneOffset.UTC));
+        assertThat(JiraService.retryAfter(inAMinute, null, DEFAULT)).isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+
+        String resetInAMinute = Instant.now().plusSeconds(60).atOffset(ZoneOffset.UTC).toString();
+        assertThat(JiraService.retryAfter(null, resetInAMinute, DEFAULT)).isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+        // the reset time is in the past
+        assertThat(JiraService.retryAfter(null, "2000-01-01T00:00Z", DEFAULT)).isZero();
+
+        assertThat(JiraService.retryAfter(null, null, DEFAULT)).isEqualTo(DEFAULT);
+        assertThat(JiraService.retryAfter("soon", "later", DEFAULT)).isEqualTo(DEFAULT);
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.githubtojira;
+
+import io.quarkus.githubtojira.model.JiraInfo;
+import io.quarkus.githubtojira.model.PullRequestInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PullRequestJiraLinkerTest {
+
+    @Test
+    public void testNormalizeUrl() {
+        String expected = "https://github.com/quarkusio/quarkus/pull/49874";
+        assertThat(PullRequestJiraLinker.normalizeUrl("https://github.com/quarkusio/quarkus/pull/49874")).isEqualTo(expected);
+        assertThat(PullRequestJiraLinker.normalizeUrl("http://github.com/quarkusio/quarkus/pull/49874")).isEqualTo(expected);
+        assertThat(PullRequestJiraLinker.normalizeUrl(" https://github.com/quarkusio/quarkus/pull/49874/ ")).isEqualTo(expected);
+        assertThat(PullRequestJiraLinker.normalizeUrl("https://github.com/quarkusio/quarkus/pull/49874/files")).isEqualTo(expected);
+        assertThat(PullRequestJiraLinker.normalizeUrl("https://github.com/quarkusio/quarkus/pull/49874/files/")).isEqualTo(expected);
+        assertThat(PullRequestJiraLinker.normalizeUrl("https://github.com/QuarkusIO/quarkus/pull/49874#issuecomment-1")).isEqualTo(expected);
+    }
+
+    @Test
+    public void testLink() {
+        PullRequestInfo pr1 = pullRequest(1);
+        PullRequestInfo pr2 = pullRequest(2);
+        PullRequestInfo pr3 = pullRequest(3);
+        JiraInfo jiraA = jira("QUARKUS-1", "https://github.com/quarkusio/quarkus/pull/1/files", "http://github.com/quarkusio/quarkus/pull/2");
+        JiraInfo jiraB = jira("QUARKUS-2", "https://github.com/quarkusio/quarkus/pull/2/");
+        JiraInfo jiraC = jira("QUARKUS-3", "https://github.com/quarkusio/quarkus/pull/22", "");
+
+        PullRequestJiraLinker.link(List.of(pr1, pr2, pr3), List.of(jiraA, jiraB, jiraC));
+
+        assertThat(pr1.getExistingJiras()).containsExactly(jiraA);
+        assertThat(pr2.getExistingJiras()).containsExactly(jiraA, jiraB);
+        assertThat(pr3.getExistingJiras()).isEmpty();
+    }
+
+    @Test
+    public void testLinkLargeColumn() {
+        List<PullRequestInfo> pullRequests = new ArrayList<>();
+        List<JiraInfo> jiras = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            pullRequests.add(pullRequest(i));
+            // every other PR has a Jira, and every Jira also lists 50 unrelated PRs
+            if (i % 2 == 0) {
+                List<String> urls = new ArrayList<>();
+                urls.add("https://github.com/quarkusio/quarkus/pull/" + i);
+                for (int j = 0; j < 50; j++) {
+                    urls.add("https://github.com/quarkusio/quarkus/pull/" + (100_000 + i * 50 + j));
+                }
+                jiras.add(jira("QUARKUS-" + i, urls.toArray(String[]::new)));
+            }
+        }
+
+        PullRequestJiraLinker.link(pullRequests, jiras);
+
+        for (int i = 0; i < pullRequests.size(); i++) {
+            assertThat(pullRequests.get(i).getExistingJiras()).hasSize(i % 2 == 0 ? 1 : 0);
+        }
+    }
+
+    private static PullRequestInfo pullRequest(int number) {
+        PullRequestInfo pullRequest = new PullRequestInfo();
+        pullRequest.setNumber(number);
+        pullRequest.setUrl("https://github.com/quarkusio/quarkus/pull/" + number);
+        return pullRequest;
+    }
+
+    private static JiraInfo jira(String key, String... urls) {
+        JiraInfo jira = new JiraInfo();
+        jira.setKey(key);
+        jira.setUrl("https://redhat.atlassian.net/browse/" + key);
+        jira.setGitPullRequestUrls(List.of(urls));
+        return jira;
+    }
+}
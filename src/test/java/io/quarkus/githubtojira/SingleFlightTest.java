@@ -0,0 +1,89 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() {
+        List<String> coalesced = new ArrayList<>();
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(coalesced::add);
+        AtomicInteger requests = new AtomicInteger();
+        AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        Uni<String> request = Uni.createFrom().emitter(e -> {
+            requests.incrementAndGet();
+            emitter.set(e);
+        });
+
+        List<String> results = new ArrayList<>();
+        singleFlight.execute("a", () -> request).subscribe().with(results::add);
+        singleFlight.execute("a", () -> request).subscribe().with(results::add);
+        assertThat(requests).hasValue(1);
+        assertThat(coalesced).containsExactly("a");
+        assertThat(singleFlight.size()).isEqualTo(1);
+
+        emitter.get().complete("result");
+        assertThat(results).containsExactly("result", "result");
+        assertThat(singleFlight.size()).isZero();
+
+        // the result is not cached
+        singleFlight.execute("a", () -> request).subscribe().with(results::add);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(key -> {
+        });
+        AtomicInteger requests = new AtomicInteger();
+        Uni<String> request = Uni.createFrom().emitter(e -> requests.incrementAndGet());
+
+        singleFlight.execute("a", () -> request).subscribe().with(result -> {
+        });
+        singleFlight.execute("b", () -> request).subscribe().with(result -> {
+        });
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotRemembered() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(key -> {
+        });
+        AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        Uni<String> request = Uni.createFrom().emitter(e -> emitter.set(e));
+
+        List<Throwable> failures = new ArrayList<>();
+        singleFlight.execute("a", () -> request).subscribe().with(result -> {
+        }, failures::add);
+        singleFlight.execute("a", () -> request).subscribe().with(result -> {
+        }, failures::add);
+        emitter.get().fail(new RuntimeException("failed"));
+        assertThat(failures).hasSize(2).allMatch(failure -> failure.getMessage().equals("failed"));
+
+        String result = singleFlight.execute("a", () -> Uni.createFrom().item("retried")).await().indefinitely();
+        assertThat(result).isEqualTo("retried");
+    }
+
+    @Test
+    public void testCancellationDoesNotCancelTheSharedRequest() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(key -> {
+        });
+        AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        Uni<String> request = Uni.createFrom().emitter(e -> emitter.set(e));
+
+        List<String> results = new ArrayList<>();
+        singleFlight.execute("a", () -> request).subscribe().with(results::add).cancel();
+        singleFlight.execute("a", () -> request).subscribe().with(results::add);
+        emitter.get().complete("result");
+        assertThat(results).containsExactly("result");
+    }
+}
@@ -0,0 +1,100 @@
+package io.quarkus.githubtojira;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StaleWhileRevalidateCacheTest {
+
+    // completes the loads by hand
+    final List<UniEmitter<? super String>> loads = new ArrayList<>();
+
+    @Test
+    public void testFreshHit() {
+        StaleWhileRevalidateCache<String> cache = new StaleWhileRevalidateCache<>("test", Duration.ofHours(1), this::load);
+        assertThat(cache.getIfPresent()).isNull();
+
+        AtomicReference<String> first = new AtomicReference<>();
+        cache.get().subscribe().with(first::set);
+        assertThat(first).hasNullValue();
+        loads.get(0).complete("v1");
+        assertThat(first).hasValue("v1");
+
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v1");
+        assertThat(cache.getIfPresent()).isEqualTo("v1");
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    public void testStaleHitRefreshesOnceInTheBackground() throws Exception {
+        StaleWhileRevalidateCache<String> cache = new StaleWhileRevalidateCache<>("test", Duration.ZERO, this::load);
+        cache.get().subscribe().with(value -> {
+        });
+        loads.get(0).complete("v1");
+        Thread.sleep(1);
+
+        // the stale value is returned right away, while a single refresh is in flight
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v1");
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v1");
+        assertThat(loads).hasSize(2);
+
+        loads.get(1).complete("v2");
+        assertThat(cache.getIfPresent()).isEqualTo("v2");
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v2");
+    }
+
+    @Test
+    public void testFailedRefreshKeepsTheStaleValue() throws Exception {
+        StaleWhileRevalidateCache<String> cache = new StaleWhileRevalidateCache<>("test", Duration.ZERO, this::load);
+        cache.get().subscribe().with(value -> {
+        });
+        loads.get(0).complete("v1");
+        Thread.sleep(1);
+
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v1");
+        loads.get(1).fail(new IllegalStateException("GitHub is down"));
+        assertThat(cache.getIfPresent()).isEqualTo("v1");
+
+        // the next call tries again
+        assertThat(cache.get().await().indefinitely()).isEqualTo("v1");
+        assertThat(loads).hasSize(3);
+        loads.get(2).complete("v2");
+        assertThat(cache.getIfPresent()).isEqualTo("v2");
+    }
+
+    @Test
+    public void testFailedFirstLoad() {
+        StaleWhileRevalidateCache<String> cache = new StaleWhileRevalidateCache<>("test", Duration.ofHours(1), this::load);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Throwable> concurrentFailure = new AtomicReference<>();
+        cache.get().subscribe().with(value -> {
+        }, failure::set);
+        // joins the load in flight
+        cache.get().subscribe().with(value -> {
+        }, concurrentFailure::set);
+        assertThat(loads).hasSize(1);
+
+        loads.get(0).fail(new IllegalStateException("Jira is down"));
+        assertThat(failure.get()).hasMessage("Jira is down");
+        assertThat(concurrentFailure.get()).hasMessage("Jira is down");
+        assertThat(cache.getIfPresent()).isNull();
+
+        // nothing is cached, the next call loads again
+        AtomicReference<String> value = new AtomicReference<>();
+        cache.get().subscribe().with(value::set);
+        assertThat(loads).hasSize(2);
+        loads.get(1).complete("v1");
+        assertThat(value).hasValue("v1");
+    }
+
+    private Uni<String> load() {
+        return Uni.createFrom().emitter(loads::add);
+    }
+}
@@ -0,0 +1,58 @@
+package io.quarkus.githubtojira;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TokenBucketTest {
+
+    static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    @Test
+    public void testBurstThenRate() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = System.nanoTime();
+
+        assertThat(bucket.reserve(now).waitNanos()).isLessThanOrEqualTo(0);
+        assertThat(bucket.reserve(now).waitNanos()).isLessThanOrEqualTo(0);
+        // the next tokens are handed out every 100 ms, in the order of the calls
+        assertThat(bucket.reserve(now).waitNanos()).isCloseTo(100 * MILLI, within(MILLI));
+        assertThat(bucket.reserve(now).waitNanos()).isCloseTo(200 * MILLI, within(MILLI));
+
+        // the bucket refills over time, but not over the burst
+        long later = now + Duration.ofSeconds(10).toNanos();
+        assertThat(bucket.reserve(later).waitNanos()).isLessThanOrEqualTo(0);
+        assertThat(bucket.reserve(later).waitNanos()).isLessThanOrEqualTo(0);
+        assertThat(bucket.reserve(later).waitNanos()).isCloseTo(100 * MILLI, within(MILLI));
+    }
+
+    @Test
+    public void testPause() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        TokenBucket.Reservation beforePause = bucket.reserve(System.nanoTime());
+
+        bucket.pauseFor(Duration.ofSeconds(2));
+        long now = System.nanoTime();
+        TokenBucket.Reservation first = bucket.reserve(now);
+        TokenBucket.Reservation second = bucket.reserve(now);
+
+        // one request right after the pause, then the rate applies again
+        assertThat(first.waitNanos()).isCloseTo(2000 * MILLI, within(50 * MILLI));
+        assertThat(second.waitNanos()).isCloseTo(2100 * MILLI, within(50 * MILLI));
+        // the reservations made before the pause are taken again
+        assertThat(beforePause.pauses()).isNotEqualTo(first.pauses());
+    }
+
+    @Test
+    public void testAcquire() {
+        TokenBucket bucket = new TokenBucket(5, 1);
+        bucket.reserve(System.nanoTime());
+
+        Duration waited = bucket.acquire().await().indefinitely();
+        assertThat(waited).isBetween(Duration.ofMillis(150), Duration.ofMillis(1000));
+        assertThat(bucket.waiting()).isZero();
+    }
+}
@@ -0,0 +1,169 @@
+package io.quarkus.githubtojira.standin;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stands in for the GitHub GraphQL API. It answers the queries of {@link io.quarkus.githubtojira.GitHubService}
+ * (recognized by their text) with generated data:
+ * <ul>
+ *     <li>one backport project (number 1) with the Status options 3.20.0 to 3.20.3</li>
+ *     <li>`standin.github.board-size` items in the project, all of them pull requests in the requested Status column</li>
+ *     <li>pull requests with a description of `standin.github.body-size` characters
+ *     and `standin.github.files-per-pull-request` changed files</li>
+ * </ul>
+ */
+@Path("/standin/github/graphql")
+public class GitHubStandIn {
+
+    public static final int FIRST_PULL_REQUEST_NUMBER = 10000;
+
+    private static final Pattern PULL_REQUEST_ALIAS = Pattern.compile("(pr\\d+): pullRequest\\(number: (\\d+)\\)");
+    private static final Pattern STATUS_FILTER = Pattern.compile("status:\"([^\"]+)\"");
+
+    @ConfigProperty(name = "standin.github.latency", defaultValue = "20ms")
+    Duration latency;
+
+    @ConfigProperty(name = "standin.github.error-rate", defaultValue = "0")
+    double errorRate;
+
+    @ConfigProperty(name = "standin.github.board-size", defaultValue = "500")
+    int boardSize;
+
+    @ConfigProperty(name = "standin.github.body-size", defaultValue = "2000")
+    int bodySize;
+
+    @ConfigProperty(name = "standin.github.files-per-pull-request", defaultValue = "20")
+    int filesPerPullRequest;
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @SuppressWarnings("unchecked")
+    public Uni<Response> graphql(Map<String, Object> request) {
+        String query = (String) request.get("query");
+        Map<String, Object> variables = request.get("variables") == null
+                ? Map.of()
+                : (Map<String, Object>) request.get("variables");
+        return StandIns.respond(latency, errorRate, () -> Response.ok(Map.of("data", data(query, variables))).build());
+    }
+
+    private Map<String, Object> data(String query, Map<String, Object> variables) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        if (query.contains("projectsV2(")) {
+            data.put("organization", Map.of("projectsV2", Map.of("nodes", List.of(project()))));
+        } else if (query.contains("projectV2(number")) {
+            data.put("organization", Map.of("projectV2", Map.of("items", projectItems(variables))));
+        } else if (query.contains("files(first: 100, after: $after)")) {
+            int number = ((Number) variables.get("number")).intValue();
+            int offset = Integer.parseInt((String) variables.get("after"));
+            data.put("repository", Map.of("pullRequest", Map.of("files", files(number, offset))));
+        } else {
+            Map<String, Object> repository = new LinkedHashMap<>();
+            Matcher aliases = PULL_REQUEST_ALIAS.matcher(query);
+            while (aliases.find()) {
+                repository.put(aliases.group(1), pullRequest(Integer.parseInt(aliases.group(2))));
+            }
+            if (repository.isEmpty()) {
+                repository.put("pullRequest", pullRequest(((Number) variables.get("number")).intValue()));
+            }
+            data.put("repository", repository);
+        }
+        data.put("rateLimit", Map.of("cost", 1, "remaining", 4999, "resetAt", Instant.now().plus(Duration.ofHours(1)).toString()));
+        return data;
+    }
+
+    private Map<String, Object> project() {
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (int i = 0; i <= 3; i++) {
+            options.add(Map.of("name", "3.20." + i, "id", "option" + i));
+        }
+        return Map.of("title", "Backports for 3.20",
+                "number", 1,
+                "field", Map.of("options", options));
+    }
+
+    private Map<String, Object> projectItems(Map<String, Object> variables) {
+        int offset = variables.get("after") == null ? 0 : Integer.parseInt((String) variables.get("after"));
+        String status = "3.20.1";
+        if (variables.get("filter") != null) {
+            Matcher filter = STATUS_FILTER.matcher((String) variables.get("filter"));
+            if (filter.find()) {
+                status = filter.group(1);
+            }
+        }
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        int end = Math.min(offset + 100, boardSize);
+        for (int i = offset; i < end; i++) {
+            int number = FIRST_PULL_REQUEST_NUMBER + i;
+            nodes.add(Map.of("STATUS", Map.of("FIXVERSION", status),
+                    "content", Map.of("url", url(number),
+                            "title", title(number),
+                            "number", number)));
+        }
+        return Map.of("nodes", nodes, "pageInfo", pageInfo(end, end < boardSize));
+    }
+
+    private Map<String, Object> pullRequest(int number) {
+        return Map.of("url", url(number),
+                "title", title(number),
+                "number", number,
+                "bodyText", body(number),
+                "labels", Map.of("nodes", List.of(Map.of("name", "area/core"))),
+                "changedFiles", filesPerPullRequest,
+                "additions", filesPerPullRequest * 10,
+                "deletions", filesPerPullRequest * 5,
+                "files", files(number, 0));
+    }
+
+    private Map<String, Object> files(int number, int offset) {
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        int end = Math.min(offset + 100, filesPerPullRequest);
+        for (int i = offset; i < end; i++) {
+            nodes.add(Map.of("path", "extensions/ext" + number + "/runtime/src/main/java/File" + i + ".java"));
+        }
+        return Map.of("nodes", nodes, "pageInfo", pageInfo(end, end < filesPerPullRequest));
+    }
+
+    // the cursors are offsets
+    private static Map<String, Object> pageInfo(int end, boolean hasNextPage) {
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("endCursor", hasNextPage ? String.valueOf(end) : null);
+        pageInfo.put("hasNextPage", hasNextPage);
+        return pageInfo;
+    }
+
+    public static String url(int number) {
+        return "https://github.com/quarkusio/quarkus/pull/" + number;
+    }
+
+    private static String title(int number) {
+        return "Stand-in pull request " + number;
+    }
+
+    private String body(int number) {
+        StringBuilder body = new StringBuilder(bodySize);
+        String sentence = "This is the description of pull request " + number + ". ";
+        while (body.length() < bodySize) {
+            body.append(sentence);
+        }
+        body.setLength(bodySize);
+        return body.toString();
+    }
+}
@@ -0,0 +1,196 @@
+package io.quarkus.githubtojira.standin;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stands in for the Jira REST API endpoints used by {@link io.quarkus.githubtojira.JiraService}: the project,
+ * the JQL search, creating issues (one by one and in bulk) and transitions. The search finds an existing Jira
+ * for `standin.jira.existing-ratio` of the searched pull requests, created issues are not remembered.
+ * Like Jira Cloud, it throttles the writes (creating and transitioning issues) over `standin.jira.writes-per-second`
+ * with a 429 response and a Retry-After header.
+ */
+@Path("/standin/jira/rest/api/{version}")
+@Produces(MediaType.APPLICATION_JSON)
+public class JiraStandIn {
+
+    private static final Pattern PULL_REQUEST_CLAUSE = Pattern.compile("\"Git Pull Request\" ~ \"([^\"]+?(\\d+))\"");
+    private static final Pattern FIX_VERSION_CLAUSE = Pattern.compile("fixVersion ~ \"([^\"]+)\"");
+
+    @ConfigProperty(name = "standin.jira.latency", defaultValue = "50ms")
+    Duration latency;
+
+    @ConfigProperty(name = "standin.jira.error-rate", defaultValue = "0")
+    double errorRate;
+
+    @ConfigProperty(name = "standin.jira.existing-ratio", defaultValue = "0.25")
+    double existingRatio;
+
+    // 0 means no throttling
+    @ConfigProperty(name = "standin.jira.writes-per-second", defaultValue = "0")
+    int writesPerSecond;
+
+    @ConfigProperty(name = "jira.project")
+    String project;
+
+    @ConfigProperty(name = "jira.pull-request-field-id")
+    String pullRequestFieldId;
+
+    @Context
+    UriInfo uriInfo;
+
+    private final AtomicInteger issueCounter = new AtomicInteger(100000);
+
+    // the writes of the current second
+    private long writeSecond;
+    private int writes;
+
+    @GET
+    @Path("project/{key}")
+    public Uni<Response> project(@PathParam("key") String key) {
+        return StandIns.respond(latency, errorRate, () -> {
+            List<Map<String, Object>> versions = new ArrayList<>();
+            for (int i = 0; i <= 3; i++) {
+                versions.add(version("3.20." + i + ".GA"));
+            }
+            Map<String, Object> project = new LinkedHashMap<>(basicProject());
+            project.put("description", "");
+            project.put("lead", Map.of("self", self("user?accountId=lead"), "accountId", "lead", "name", "lead", "displayName", "Lead"));
+            project.put("versions", versions);
+            project.put("components", List.of());
+            project.put("issueTypes", List.of());
+            return Response.ok(project).build();
+        });
+    }
+
+    @GET
+    @Path("search/jql")
+    public Uni<Response> search(@QueryParam("jql") String jql) {
+        return StandIns.respond(latency, errorRate, () -> Response.ok(searchResult(jql)).build());
+    }
+
+    @POST
+    @Path("search/jql")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Uni<Response> searchPost(Map<String, Object> request) {
+        return search((String) request.get("jql"));
+    }
+
+    @POST
+    @Path("issue")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Uni<Response> createIssue(Map<String, Object> issue) {
+        return StandIns.respond(latency, errorRate, () -> throttled() ? tooManyRequests()
+                : Response.status(Response.Status.CREATED).entity(newIssue()).build());
+    }
+
+    @POST
+    @Path("issue/bulk")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Uni<Response> createIssues(Map<String, List<Object>> request) {
+        return StandIns.respond(latency, errorRate, () -> {
+            if (throttled()) {
+                return tooManyRequests();
+            }
+            List<Map<String, Object>> issues = new ArrayList<>();
+            for (int i = 0; i < request.get("issueUpdates").size(); i++) {
+                issues.add(newIssue());
+            }
+            return Response.status(Response.Status.CREATED).entity(Map.of("issues", issues, "errors", List.of())).build();
+        });
+    }
+
+    @POST
+    @Path("issue/{idOrKey}/transitions")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Uni<Response> transition(@PathParam("idOrKey") String idOrKey, Map<String, Object> transition) {
+        return StandIns.respond(latency, errorRate, () -> throttled() ? tooManyRequests() : Response.noContent().build());
+    }
+
+    private synchronized boolean throttled() {
+        if (writesPerSecond <= 0) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        if (second != writeSecond) {
+            writeSecond = second;
+            writes = 0;
+        }
+        return ++writes > writesPerSecond;
+    }
+
+    private static Response tooManyRequests() {
+        return Response.status(429).header("Retry-After", "1").entity("Rate limit exceeded").build();
+    }
+
+    private Map<String, Object> searchResult(String jql) {
+        String fixVersion = "3.20.1.GA";
+        Matcher fixVersionClause = FIX_VERSION_CLAUSE.matcher(jql);
+        if (fixVersionClause.find()) {
+            fixVersion = fixVersionClause.group(1).replace("*", "1.GA");
+        }
+        List<Map<String, Object>> issues = new ArrayList<>();
+        Matcher pullRequestClause = PULL_REQUEST_CLAUSE.matcher(jql);
+        while (pullRequestClause.find()) {
+            int number = Integer.parseInt(pullRequestClause.group(2));
+            // deterministic, so that the same pull request is always found (or not)
+            if (Math.floorMod(number * 31, 100) < existingRatio * 100) {
+                issues.add(existingIssue(number, pullRequestClause.group(1), fixVersion));
+            }
+        }
+        return Map.of("issues", issues, "isLast", true);
+    }
+
+    private Map<String, Object> existingIssue(int number, String pullRequestUrl, String fixVersion) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("summary", "Stand-in pull request " + number);
+        fields.put("issuetype", Map.of("self", self("issuetype/1"), "id", "1", "name", "Bug", "subtask", false));
+        fields.put("created", "2026-01-01T10:00:00.000+0000");
+        fields.put("updated", "2026-01-01T10:00:00.000+0000");
+        fields.put("project", basicProject());
+        fields.put("status", Map.of("self", self("status/1"), "id", "1", "name", "New"));
+        fields.put("fixVersions", List.of(version(fixVersion)));
+        fields.put(pullRequestFieldId, pullRequestUrl);
+        String id = String.valueOf(number);
+        return Map.of("id", id, "self", self("issue/" + id), "key", project + "-" + number, "fields", fields);
+    }
+
+    private Map<String, Object> newIssue() {
+        String id = String.valueOf(issueCounter.incrementAndGet());
+        return Map.of("id", id, "key", project + "-" + id, "self", self("issue/" + id));
+    }
+
+    private Map<String, Object> basicProject() {
+        return Map.of("self", self("project/" + project), "id", "10000", "key", project, "name", project);
+    }
+
+    private Map<String, Object> version(String name) {
+        return Map.of("self", self("version/" + name), "id", String.valueOf(Math.abs(name.hashCode())), "name", name,
+                "archived", false, "released", false);
+    }
+
+    private URI self(String path) {
+        return uriInfo.getBaseUri().resolve("standin/jira/rest/api/2/" + path);
+    }
+}
@@ -0,0 +1,180 @@
+package io.quarkus.githubtojira.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the importing page and imports against the stand-ins and reports the throughput and latency percentiles.
+ * Only runs with the `load` Maven profile (`./mvnw -Pload test`), the report is written to
+ * `target/load-test-report.json`. The load is configured by the `load-test.*` properties, the stand-ins by
+ * the `standin.*` properties, both can be passed as system properties.
+ */
+@QuarkusTest
+@TestProfile(StandInProfile.class)
+@Tag("load")
+public class LoadTest {
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @ConfigProperty(name = "load-test.importing.requests", defaultValue = "50")
+    int importingRequests;
+
+    @ConfigProperty(name = "load-test.importing.concurrency", defaultValue = "8")
+    int importingConcurrency;
+
+    @ConfigProperty(name = "load-test.imports", defaultValue = "200")
+    int imports;
+
+    @ConfigProperty(name = "load-test.imports.concurrency", defaultValue = "16")
+    int importsConcurrency;
+
+    final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final Map<String, Object> report = new LinkedHashMap<>();
+
+    @Test
+    public void load() throws Exception {
+        // all the rows of the importing page, with their existing Jiras: the latency is the time to the end of the stream
+        report.put("importing", run(importingRequests, importingConcurrency, i -> {
+            HttpResponse<Stream<String>> response = streamEvents();
+            assertThat(response.statusCode()).isEqualTo(200);
+            try (Stream<String> lines = response.body()) {
+                assertThat(lines.filter(line -> line.startsWith("data:"))
+                        .map(line -> readEventType(line.substring("data:".length())))
+                        .filter(type -> !type.equals("ROWS"))
+                        .findFirst()).hasValue("DONE");
+            }
+        }));
+
+        // the rows as streamed to the importing page, the latency is the time to the first rows, the rest of the stream is abandoned
+        report.put("importingFirstRows", run(importingRequests, importingConcurrency, i -> {
+            HttpResponse<Stream<String>> response = streamEvents();
+            assertThat(response.statusCode()).isEqualTo(200);
+            try (Stream<String> lines = response.body()) {
+                assertThat(lines.anyMatch(line -> line.startsWith("data:") && line.contains("\"ROWS\""))).isTrue();
+            }
+        }));
+
+        AtomicInteger prNumbers = new AtomicInteger(GitHubStandIn.FIRST_PULL_REQUEST_NUMBER);
+        report.put("import", run(imports, importsConcurrency, i -> {
+            int prNumber = prNumbers.getAndIncrement();
+            HttpResponse<String> submitted = send(HttpRequest.newBuilder(baseUri.resolve("jobs/import/quarkusio%2Fquarkus/3.20.1.GA"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("[{\"prNumber\": " + prNumber + ", \"type\": \"bug\"}]")));
+            assertThat(submitted.statusCode()).isEqualTo(200);
+            JsonNode job = objectMapper.readTree(submitted.body()).get(0);
+            // an import is done when its job is finished
+            while (job.get("status").asText().equals("QUEUED") || job.get("status").asText().equals("RUNNING")) {
+                Thread.sleep(20);
+                HttpResponse<String> polled = send(HttpRequest.newBuilder(baseUri.resolve("jobs?id=" + job.get("id").asText())).GET());
+                job = objectMapper.readTree(polled.body()).get(0);
+            }
+            assertThat(job.get("status").asText()).isEqualTo("SUCCEEDED");
+        }));
+
+        Path reportFile = Path.of("target", "load-test-report.json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        Log.info("Load test report (" + reportFile + "):\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.timeout(Duration.ofMinutes(2)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // the events of the importing page, see GithubToJiraResource#importingEvents
+    private HttpResponse<Stream<String>> streamEvents() throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(baseUri.resolve("importing/1/3.20.1/3.20.1.GA/events"))
+                .timeout(Duration.ofMinutes(2)).GET().build(), HttpResponse.BodyHandlers.ofLines());
+    }
+
+    private String readEventType(String data) {
+        try {
+            return objectMapper.readTree(data).get("type").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs `requests` requests, at most `concurrency` at the same time, and returns the throughput and latencies.
+     */
+    private Map<String, Object> run(int requests, int concurrency, Request request) throws Exception {
+        long[] latencies = new long[requests];
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        long requestStart = System.nanoTime();
+                        request.send(index);
+                        latencies[index] = System.nanoTime() - requestStart;
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requests);
+        result.put("concurrency", concurrency);
+        result.put("throughputPerSecond", requests / seconds);
+        result.put("p50Millis", percentile(latencies, 0.50));
+        result.put("p90Millis", percentile(latencies, 0.90));
+        result.put("p99Millis", percentile(latencies, 0.99));
+        result.put("maxMillis", latencies[latencies.length - 1] / 1e6);
+        return result;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+    @FunctionalInterface
+    interface Request {
+        void send(int index) throws Exception;
+    }
+}
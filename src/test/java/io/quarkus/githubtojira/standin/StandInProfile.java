@@ -0,0 +1,27 @@
+package io.quarkus.githubtojira.standin;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Points the app to the stand-ins for GitHub and Jira, which run in the same Quarkus instance as the app.
+ * The stand-ins are configured by the `standin.*` properties, see {@link GitHubStandIn} and {@link JiraStandIn}.
+ */
+public class StandInProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.smallrye-graphql-client.github.url", "http://localhost:${quarkus.http.test-port:8081}/standin/github/graphql",
+                "jira.server", "http://localhost:${quarkus.http.test-port:8081}/standin/jira",
+                "imports.github.token", "standin",
+                "imports.jira.token", Base64.getEncoder().encodeToString("load-test@example.com:standin".getBytes(StandardCharsets.UTF_8)),
+                // the importing page should search in Jira instead of using the index
+                "jira.index.enabled", "false",
+                // a fresh journal, so that the imports of previous runs are not considered duplicates
+                "import-jobs.journal-path", "target/standin/import-jobs-" + System.currentTimeMillis() + ".jsonl");
+    }
+}
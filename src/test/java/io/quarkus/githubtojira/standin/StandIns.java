@@ -0,0 +1,24 @@
+package io.quarkus.githubtojira.standin;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.Response;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+final class StandIns {
+
+    private StandIns() {
+    }
+
+    /**
+     * Responds after `latency`, with a 503 error instead of the actual response in `errorRate` of the cases.
+     */
+    static Uni<Response> respond(Duration latency, double errorRate, Supplier<Response> response) {
+        Uni<Response> result = Uni.createFrom().item(() -> ThreadLocalRandom.current().nextDouble() < errorRate
+                ? Response.status(Response.Status.SERVICE_UNAVAILABLE).entity("Stand-in failure").build()
+                : response.get());
+        return latency.isZero() ? result : result.onItem().delayIt().by(latency);
+    }
+}